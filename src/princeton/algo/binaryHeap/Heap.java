@@ -1,32 +1,64 @@
 package princeton.algo.binaryHeap;
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Comparator;
-import princeton.algo.sort.Util;
 
 /**
- * The {@code Heap} class implements heap sort utilizing a binary heap data
+ * The {@code Heap} class implements heap sort utilizing a heap data
  * structure. This is an unstable, in-place, n log n sorting algorithm.
  * It has one static method {@code sort()} which accepts Comparable arrays,
- * or arrays and a Comparator or primitive-type arrays as well.
+ * or arrays and a Comparator or primitive-type arrays as well. It also sorts
+ * {@code LongBuffer} and {@code DoubleBuffer} in place, which may be direct or
+ * memory-mapped.
+ * <p>
+ *     The sort is bottom-up (Floyd): a displaced item leaves a hole at the
+ *     top, the hole follows the larger children down to a leaf, and the item
+ *     then moves back up from there. Since the item usually belongs near the
+ *     bottom, this takes about half the comparisons of the textbook
+ *     {@code moveDown}, which compares against both children at every level.
+ * </p>
+ * <p>
+ *     The heap may also be d-ary. A wider heap is shallower and keeps the
+ *     children of a node in one or two cache lines, which pays off on large
+ *     primitive arrays; it needs more comparisons per level, so binary heaps
+ *     remain the default for objects.
+ * </p>
  */
 public class Heap {
+    /**
+     * the arity used for primitive arrays and buffers
+     */
+    public static final int PRIMITIVE_ARITY = 8;
+
+    /**
+     * the arity used for object arrays, where comparisons dominate
+     */
+    public static final int OBJECT_ARITY = 2;
+
     private Heap() {}
 
     /**
-     * heap sort an array with a comparator
+     * heap sort a Comparable array
      *
      * @param <T> type parameter
      * @param a   the array of type T
      */
     public static <T extends Comparable<? super T>> void sort(T[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            PriorityQueue.moveDown(a, j, size - 1, null);
-        }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            PriorityQueue.moveDown(a, 0, n - 1, null);
-        }
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a Comparable array
+     *
+     * @param <T> type parameter
+     * @param a   the array of type T
+     * @param lo  the beginning index (included)
+     * @param hi  the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] a, int lo, int hi) {
+        sort(a, lo, hi, null);
     }
 
     /**
@@ -37,13 +69,51 @@ public class Heap {
      * @param c   the comparator of type T
      */
     public static <T> void sort(T[] a, Comparator<? super T> c) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            PriorityQueue.moveDown(a, j, size - 1, c);
+        sort(a, 0, a.length, c);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of an array with a comparator.
+     * A {@code null} comparator sorts by natural ordering.
+     *
+     * @param <T> type parameter
+     * @param a   the array of type T
+     * @param lo  the beginning index (included)
+     * @param hi  the ending index (excluded)
+     * @param c   the comparator of type T
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> c) {
+        sort(a, lo, hi, c, OBJECT_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of an array with a comparator, using a
+     * heap of the given arity. A {@code null} comparator sorts by natural
+     * ordering.
+     *
+     * @param <T>   type parameter
+     * @param a     the array of type T
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param c     the comparator of type T
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> c, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            PriorityQueue.moveDown(a, 0, n - 1, c);
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j], c);
+        }
+        for (int n = size - 1; n > 0; n--) {
+            T item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item, c);
         }
     }
 
@@ -53,13 +123,45 @@ public class Heap {
      * @param a the int array
      */
     public static void sort(int[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a int array
+     *
+     * @param a  the int array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(int[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a int array, using a heap of the
+     * given arity
+     *
+     * @param a     the int array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(int[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
+        for (int n = size - 1; n > 0; n--) {
+            int item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
         }
     }
 
@@ -69,13 +171,45 @@ public class Heap {
      * @param a the long array
      */
     public static void sort(long[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a long array
+     *
+     * @param a  the long array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(long[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a long array, using a heap of the
+     * given arity
+     *
+     * @param a     the long array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(long[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
+        for (int n = size - 1; n > 0; n--) {
+            long item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
         }
     }
 
@@ -85,13 +219,45 @@ public class Heap {
      * @param a the short array
      */
     public static void sort(short[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a short array
+     *
+     * @param a  the short array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(short[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a short array, using a heap of the
+     * given arity
+     *
+     * @param a     the short array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(short[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
+        for (int n = size - 1; n > 0; n--) {
+            short item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
         }
     }
 
@@ -101,13 +267,45 @@ public class Heap {
      * @param a the double array
      */
     public static void sort(double[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a double array
+     *
+     * @param a  the double array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(double[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a double array, using a heap of the
+     * given arity
+     *
+     * @param a     the double array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(double[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
+        for (int n = size - 1; n > 0; n--) {
+            double item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
         }
     }
 
@@ -117,13 +315,45 @@ public class Heap {
      * @param a the float array
      */
     public static void sort(float[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a float array
+     *
+     * @param a  the float array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(float[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a float array, using a heap of the
+     * given arity
+     *
+     * @param a     the float array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(float[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
         }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
+        }
+        for (int n = size - 1; n > 0; n--) {
+            float item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
         }
     }
 
@@ -133,181 +363,433 @@ public class Heap {
      * @param a the char array
      */
     public static void sort(char[] a) {
-        final int size = a.length;
-        for (int j = PriorityQueue.parent(size - 1); j >= 0; j--) {
-            moveDown(a, j, size - 1);
-        }
-        for (int n = a.length - 1; n > 0; n--) {
-            Util.exch(a, 0, n);
-            moveDown(a, 0, n - 1);
-        }
-    }
-
-    private static void moveDown(int[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            int parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
-                }
-                int right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a char array
+     *
+     * @param a  the char array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(char[] a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the sub-array a[lo, hi) of a char array, using a heap of the
+     * given arity
+     *
+     * @param a     the char array
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(char[] a, int lo, int hi, int arity) {
+        checkRange(a.length, lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a[lo + j]);
+        }
+        for (int n = size - 1; n > 0; n--) {
+            char item = a[lo + n];
+            a[lo + n] = a[lo];
+            siftDown(a, lo, 0, n - 1, arity, item);
+        }
+    }
+
+    /**
+     * heap sort the elements of a {@code long} buffer from its position to its
+     * limit, in place. The buffer may be direct or memory-mapped; nothing is
+     * copied to the Java heap.
+     *
+     * @param a the long buffer
+     */
+    public static void sort(LongBuffer a) {
+        sort(a, a.position(), a.limit());
+    }
+
+    /**
+     * heap sort the elements a[lo, hi) of a {@code long} buffer, by absolute
+     * index
+     *
+     * @param a  the long buffer
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(LongBuffer a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the elements a[lo, hi) of a {@code long} buffer, by absolute
+     * index, using a heap of the given arity
+     *
+     * @param a     the long buffer
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(LongBuffer a, int lo, int hi, int arity) {
+        checkRange(a.limit(), lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a.get(lo + j));
+        }
+        for (int n = size - 1; n > 0; n--) {
+            long item = a.get(lo + n);
+            a.put(lo + n, a.get(lo));
+            siftDown(a, lo, 0, n - 1, arity, item);
+        }
+    }
+
+    /**
+     * heap sort the elements of a {@code double} buffer from its position to its
+     * limit, in place. The buffer may be direct or memory-mapped; nothing is
+     * copied to the Java heap.
+     *
+     * @param a the double buffer
+     */
+    public static void sort(DoubleBuffer a) {
+        sort(a, a.position(), a.limit());
+    }
+
+    /**
+     * heap sort the elements a[lo, hi) of a {@code double} buffer, by absolute
+     * index
+     *
+     * @param a  the double buffer
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static void sort(DoubleBuffer a, int lo, int hi) {
+        sort(a, lo, hi, PRIMITIVE_ARITY);
+    }
+
+    /**
+     * heap sort the elements a[lo, hi) of a {@code double} buffer, by absolute
+     * index, using a heap of the given arity
+     *
+     * @param a     the double buffer
+     * @param lo    the beginning index (included)
+     * @param hi    the ending index (excluded)
+     * @param arity the number of children of each node of the heap
+     * @throws IllegalArgumentException if the index is out of range or arity is less than 2
+     */
+    public static void sort(DoubleBuffer a, int lo, int hi, int arity) {
+        checkRange(a.limit(), lo, hi);
+        checkArity(arity);
+        final int size = hi - lo;
+        if (size < 2) {
+            return;
+        }
+        for (int j = (size - 2) / arity; j >= 0; j--) {
+            siftDown(a, lo, j, size - 1, arity, a.get(lo + j));
+        }
+        for (int n = size - 1; n > 0; n--) {
+            double item = a.get(lo + n);
+            a.put(lo + n, a.get(lo));
+            siftDown(a, lo, 0, n - 1, arity, item);
+        }
+    }
+
+    private static void checkRange(int length, int lo, int hi) {
+        if (lo < 0 || hi > length || lo > hi) {
+            throw new IllegalArgumentException("index out of range!");
+        }
+    }
+
+    private static void checkArity(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+    }
+
+    /**
+     * put item into the hole k of the heap stored in heap[lo, lo + limit]:
+     * the hole follows the larger children down to a leaf, then the item moves
+     * up from there, no higher than k.
+     * A {@code null} comparator uses natural ordering.
+     */
+    private static <T> void siftDown(T[] heap, int lo, int k, int limit, int arity, T item,
+                                     Comparator<? super T> c) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            T max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                if (less(max, heap[lo + i], c)) {
+                    max = heap[lo + i];
+                    child = i;
                 }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            if (!less(heap[lo + parent], item, c)) {
                 break;
             }
+            heap[lo + k] = heap[lo + parent];
+            k = parent;
         }
+        heap[lo + k] = item;
     }
 
-    private static void moveDown(long[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            long parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
-                }
-                long right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
+    @SuppressWarnings("unchecked")
+    private static <T> boolean less(T v, T w, Comparator<? super T> c) {
+        if (c == null) {
+            return ((Comparable<? super T>) v).compareTo(w) < 0;
+        }
+        return c.compare(v, w) < 0;
+    }
+
+    private static void siftDown(int[] heap, int lo, int k, int limit, int arity, int item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            int max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                int next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            int above = heap[lo + parent];
+            if (!(above < item)) {
                 break;
             }
+            heap[lo + k] = above;
+            k = parent;
         }
+        heap[lo + k] = item;
     }
 
-    private static void moveDown(double[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            double parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
+    private static void siftDown(long[] heap, int lo, int k, int limit, int arity, long item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            long max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                long next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                double right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
-                }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            long above = heap[lo + parent];
+            if (!(above < item)) {
                 break;
             }
+            heap[lo + k] = above;
+            k = parent;
         }
+        heap[lo + k] = item;
     }
 
-    private static void moveDown(float[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            float parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
+    private static void siftDown(short[] heap, int lo, int k, int limit, int arity, short item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            short max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                short next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                float right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            short above = heap[lo + parent];
+            if (!(above < item)) {
+                break;
+            }
+            heap[lo + k] = above;
+            k = parent;
+        }
+        heap[lo + k] = item;
+    }
+
+    private static void siftDown(double[] heap, int lo, int k, int limit, int arity, double item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            double max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                double next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            double above = heap[lo + parent];
+            if (!(above < item)) {
                 break;
             }
+            heap[lo + k] = above;
+            k = parent;
         }
+        heap[lo + k] = item;
     }
 
-    private static void moveDown(short[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            short parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
+    private static void siftDown(float[] heap, int lo, int k, int limit, int arity, float item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            float max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                float next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                short right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            float above = heap[lo + parent];
+            if (!(above < item)) {
+                break;
+            }
+            heap[lo + k] = above;
+            k = parent;
+        }
+        heap[lo + k] = item;
+    }
+
+    private static void siftDown(char[] heap, int lo, int k, int limit, int arity, char item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            char max = heap[lo + child];
+            for (int i = child + 1; i <= end; i++) {
+                char next = heap[lo + i];
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap[lo + k] = max;
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            char above = heap[lo + parent];
+            if (!(above < item)) {
                 break;
             }
+            heap[lo + k] = above;
+            k = parent;
         }
+        heap[lo + k] = item;
     }
 
-    private static void moveDown(char[] heap, int k, int limit) {
-            while (k <= PriorityQueue.parent(limit)) {
-            char parent = heap[k];
-            int leftChild = PriorityQueue.leftChild(k);
-            int rightChild = leftChild + 1;
-            if (parent - heap[leftChild] < 0) {
-                if (rightChild > limit) {
-                    Util.exch(heap, k, leftChild);
-                    k = leftChild;
-                    continue;
+    private static void siftDown(LongBuffer heap, int lo, int k, int limit, int arity, long item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            long max = heap.get(lo + child);
+            for (int i = child + 1; i <= end; i++) {
+                long next = heap.get(lo + i);
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                char right = heap[rightChild];
-                if (right - heap[leftChild] > 0) {
-                    Util.exch(heap, k, rightChild);
-                    k = rightChild;
-                    continue;
+            }
+            heap.put(lo + k, max);
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            long above = heap.get(lo + parent);
+            if (!(above < item)) {
+                break;
+            }
+            heap.put(lo + k, above);
+            k = parent;
+        }
+        heap.put(lo + k, item);
+    }
+
+    private static void siftDown(DoubleBuffer heap, int lo, int k, int limit, int arity, double item) {
+        final int top = k;
+        final int lastParent = limit > 0 ? (limit - 1) / arity : -1;
+        while (k <= lastParent) {
+            int child = arity * k + 1;
+            int end = Math.min(child + arity - 1, limit);
+            double max = heap.get(lo + child);
+            for (int i = child + 1; i <= end; i++) {
+                double next = heap.get(lo + i);
+                if (max < next) {
+                    max = next;
+                    child = i;
                 }
-                Util.exch(heap, k, leftChild);
-                k = leftChild;
-            } else if (rightChild <= limit && parent - heap[rightChild] < 0) {
-                Util.exch(heap, k, rightChild);
-                k = rightChild;
-            } else {
+            }
+            heap.put(lo + k, max);
+            k = child;
+        }
+        while (k > top) {
+            int parent = (k - 1) / arity;
+            double above = heap.get(lo + parent);
+            if (!(above < item)) {
                 break;
             }
+            heap.put(lo + k, above);
+            k = parent;
         }
+        heap.put(lo + k, item);
     }
 }
@@ -0,0 +1,814 @@
+package princeton.algo.binaryHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * The shared engine of {@code IndexMinPQ} and {@code IndexMaxPQ}: a binary
+ * heap of the indices in [0, capacity), ordered by their keys, with the
+ * position of each index in the heap kept in {@code qp} so that any index can
+ * be found, changed or deleted in log n time. The heap keeps the smallest key
+ * under its comparator at the top; the max-queue passes a reversed one.
+ *
+ * @param <Key> the type of keys
+ */
+abstract class IndexHeap<Key> {
+
+    private final int[] pq;
+    private final int[] qp;
+    private final Object[] keys;
+    private final Comparator<? super Key> c;
+    private int size;
+
+    IndexHeap(int capacity, Comparator<? super Key> c) {
+        checkCapacity(capacity);
+        pq = new int[capacity];
+        qp = new int[capacity];
+        keys = new Object[capacity];
+        Arrays.fill(qp, -1);
+        this.c = c;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i the index
+     * @return whether i is in the priority queue
+     * @throws IllegalArgumentException if i is out of range
+     */
+    public boolean contains(int i) {
+        checkIndex(i, qp.length);
+        return qp[i] != -1;
+    }
+
+    /**
+     * associate key with index i, in log n time
+     *
+     * @param i   the index
+     * @param key the key
+     * @throws IllegalArgumentException if i is out of range or already in the
+     *                                  priority queue, or key is null
+     */
+    public void insert(int i, Key key) {
+        if (contains(i)) {
+            throw new IllegalArgumentException("index is already in the priority queue");
+        }
+        checkKey(key);
+        keys[i] = key;
+        pq[size] = i;
+        qp[i] = size;
+        swim(size++);
+    }
+
+    /**
+     * @param i the index
+     * @return the key associated with index i
+     * @throws IllegalArgumentException if i is out of range
+     * @throws NoSuchElementException   if i is not in the priority queue
+     */
+    public Key keyOf(int i) {
+        checkContains(i);
+        return key(i);
+    }
+
+    /**
+     * change the key associated with index i, in log n time
+     *
+     * @param i   the index
+     * @param key the new key
+     * @throws IllegalArgumentException if i is out of range, or key is null
+     * @throws NoSuchElementException   if i is not in the priority queue
+     */
+    public void changeKey(int i, Key key) {
+        checkContains(i);
+        checkKey(key);
+        keys[i] = key;
+        int k = qp[i];
+        if (swim(k) == k) {
+            sink(k);
+        }
+    }
+
+    /**
+     * remove index i and its key, in log n time
+     *
+     * @param i the index
+     * @throws IllegalArgumentException if i is out of range
+     * @throws NoSuchElementException   if i is not in the priority queue
+     */
+    public void delete(int i) {
+        checkContains(i);
+        int k = qp[i];
+        int last = --size;
+        if (k != last) {
+            pq[k] = pq[last];
+            qp[pq[k]] = k;
+            if (swim(k) == k) {
+                sink(k);
+            }
+        }
+        qp[i] = -1;
+        keys[i] = null;
+    }
+
+    int topIndex() {
+        checkNotEmpty();
+        return pq[0];
+    }
+
+    Key topKey() {
+        checkNotEmpty();
+        return key(pq[0]);
+    }
+
+    int deleteTop() {
+        int i = topIndex();
+        delete(i);
+        return i;
+    }
+
+    /**
+     * move index i toward the top with a key that comes strictly before its
+     * current one
+     */
+    void promote(int i, Key key, String message) {
+        checkContains(i);
+        checkKey(key);
+        if (c.compare(key, key(i)) >= 0) {
+            throw new IllegalArgumentException(message);
+        }
+        keys[i] = key;
+        swim(qp[i]);
+    }
+
+    /**
+     * move index i toward the bottom with a key that comes strictly after its
+     * current one
+     */
+    void demote(int i, Key key, String message) {
+        checkContains(i);
+        checkKey(key);
+        if (c.compare(key, key(i)) <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+        keys[i] = key;
+        sink(qp[i]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Key key(int i) {
+        return (Key) keys[i];
+    }
+
+    /**
+     * @return the new position of the index at heap position k
+     */
+    private int swim(int k) {
+        int i = pq[k];
+        Key key = key(i);
+        while (k > 0) {
+            int parent = PriorityQueue.parent(k);
+            if (c.compare(key(pq[parent]), key) <= 0) {
+                break;
+            }
+            pq[k] = pq[parent];
+            qp[pq[k]] = k;
+            k = parent;
+        }
+        pq[k] = i;
+        qp[i] = k;
+        return k;
+    }
+
+    private void sink(int k) {
+        int i = pq[k];
+        Key key = key(i);
+        int child;
+        while ((child = PriorityQueue.leftChild(k)) < size) {
+            if (child + 1 < size && c.compare(key(pq[child + 1]), key(pq[child])) < 0) {
+                child++;
+            }
+            if (c.compare(key(pq[child]), key) >= 0) {
+                break;
+            }
+            pq[k] = pq[child];
+            qp[pq[k]] = k;
+            k = child;
+        }
+        pq[k] = i;
+        qp[i] = k;
+    }
+
+    private void checkContains(int i) {
+        if (!contains(i)) {
+            throw new NoSuchElementException("index is not in the priority queue");
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("underflow!");
+        }
+    }
+
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("null key not allowed!");
+        }
+    }
+
+    private static void checkIndex(int i, int capacity) {
+        if (i < 0 || i >= capacity) {
+            throw new IllegalArgumentException("index out of range");
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("negative capacity");
+        }
+    }
+
+    /**
+     * @return the natural ordering, cast as {@code PriorityQueue} does
+     */
+    @SuppressWarnings("unchecked")
+    static <Key> Comparator<? super Key> natural() {
+        return (v, w) -> ((Comparable<? super Key>) v).compareTo(w);
+    }
+
+    /**
+     * the engine of the {@code int} keyed queues. A max-queue stores
+     * the complemented keys (~key), so both orders keep the smallest stored key at
+     * the top.
+     */
+    abstract static class OfInt {
+        private final int[] pq;
+        private final int[] qp;
+        private final int[] keys;
+        private final boolean max;
+        private int size;
+
+        OfInt(int capacity, boolean max) {
+            checkCapacity(capacity);
+            pq = new int[capacity];
+            qp = new int[capacity];
+            keys = new int[capacity];
+            Arrays.fill(qp, -1);
+            this.max = max;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i the index
+         * @return whether i is in the priority queue
+         * @throws IllegalArgumentException if i is out of range
+         */
+        public boolean contains(int i) {
+            checkIndex(i, qp.length);
+            return qp[i] != -1;
+        }
+
+        /**
+         * associate key with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the key
+         * @throws IllegalArgumentException if i is out of range or already in
+         *                                  the priority queue
+         */
+        public void insert(int i, int key) {
+            if (contains(i)) {
+                throw new IllegalArgumentException("index is already in the priority queue");
+            }
+            keys[i] = max ? ~key : key;
+            pq[size] = i;
+            qp[i] = size;
+            swim(size++);
+        }
+
+        /**
+         * @param i the index
+         * @return the key associated with index i
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public int keyOf(int i) {
+            checkContains(i);
+            return max ? ~keys[i] : keys[i];
+        }
+
+        /**
+         * change the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void changeKey(int i, int key) {
+            checkContains(i);
+            keys[i] = max ? ~key : key;
+            int k = qp[i];
+            if (swim(k) == k) {
+                sink(k);
+            }
+        }
+
+        /**
+         * remove index i and its key, in log n time
+         *
+         * @param i the index
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void delete(int i) {
+            checkContains(i);
+            int k = qp[i];
+            int last = --size;
+            if (k != last) {
+                pq[k] = pq[last];
+                qp[pq[k]] = k;
+                if (swim(k) == k) {
+                    sink(k);
+                }
+            }
+            qp[i] = -1;
+        }
+
+        int topIndex() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return pq[0];
+        }
+
+        int topKey() {
+            return keyOf(topIndex());
+        }
+
+        int deleteTop() {
+            int i = topIndex();
+            delete(i);
+            return i;
+        }
+
+        void promote(int i, int key, String message) {
+            checkContains(i);
+            int k = max ? ~key : key;
+            if (k >= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            swim(qp[i]);
+        }
+
+        void demote(int i, int key, String message) {
+            checkContains(i);
+            int k = max ? ~key : key;
+            if (k <= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            sink(qp[i]);
+        }
+
+        private int swim(int k) {
+            int i = pq[k];
+            int key = keys[i];
+            while (k > 0) {
+                int parent = PriorityQueue.parent(k);
+                if (keys[pq[parent]] <= key) {
+                    break;
+                }
+                pq[k] = pq[parent];
+                qp[pq[k]] = k;
+                k = parent;
+            }
+            pq[k] = i;
+            qp[i] = k;
+            return k;
+        }
+
+        private void sink(int k) {
+            int i = pq[k];
+            int key = keys[i];
+            int child;
+            while ((child = PriorityQueue.leftChild(k)) < size) {
+                if (child + 1 < size && keys[pq[child + 1]] < keys[pq[child]]) {
+                    child++;
+                }
+                if (keys[pq[child]] >= key) {
+                    break;
+                }
+                pq[k] = pq[child];
+                qp[pq[k]] = k;
+                k = child;
+            }
+            pq[k] = i;
+            qp[i] = k;
+        }
+
+        private void checkContains(int i) {
+            if (!contains(i)) {
+                throw new NoSuchElementException("index is not in the priority queue");
+            }
+        }
+    }
+
+    /**
+     * the engine of the {@code long} keyed queues. A max-queue stores
+     * the complemented keys (~key), so both orders keep the smallest stored key at
+     * the top.
+     */
+    abstract static class OfLong {
+        private final int[] pq;
+        private final int[] qp;
+        private final long[] keys;
+        private final boolean max;
+        private int size;
+
+        OfLong(int capacity, boolean max) {
+            checkCapacity(capacity);
+            pq = new int[capacity];
+            qp = new int[capacity];
+            keys = new long[capacity];
+            Arrays.fill(qp, -1);
+            this.max = max;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i the index
+         * @return whether i is in the priority queue
+         * @throws IllegalArgumentException if i is out of range
+         */
+        public boolean contains(int i) {
+            checkIndex(i, qp.length);
+            return qp[i] != -1;
+        }
+
+        /**
+         * associate key with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the key
+         * @throws IllegalArgumentException if i is out of range or already in
+         *                                  the priority queue
+         */
+        public void insert(int i, long key) {
+            if (contains(i)) {
+                throw new IllegalArgumentException("index is already in the priority queue");
+            }
+            keys[i] = max ? ~key : key;
+            pq[size] = i;
+            qp[i] = size;
+            swim(size++);
+        }
+
+        /**
+         * @param i the index
+         * @return the key associated with index i
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public long keyOf(int i) {
+            checkContains(i);
+            return max ? ~keys[i] : keys[i];
+        }
+
+        /**
+         * change the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void changeKey(int i, long key) {
+            checkContains(i);
+            keys[i] = max ? ~key : key;
+            int k = qp[i];
+            if (swim(k) == k) {
+                sink(k);
+            }
+        }
+
+        /**
+         * remove index i and its key, in log n time
+         *
+         * @param i the index
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void delete(int i) {
+            checkContains(i);
+            int k = qp[i];
+            int last = --size;
+            if (k != last) {
+                pq[k] = pq[last];
+                qp[pq[k]] = k;
+                if (swim(k) == k) {
+                    sink(k);
+                }
+            }
+            qp[i] = -1;
+        }
+
+        int topIndex() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return pq[0];
+        }
+
+        long topKey() {
+            return keyOf(topIndex());
+        }
+
+        int deleteTop() {
+            int i = topIndex();
+            delete(i);
+            return i;
+        }
+
+        void promote(int i, long key, String message) {
+            checkContains(i);
+            long k = max ? ~key : key;
+            if (k >= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            swim(qp[i]);
+        }
+
+        void demote(int i, long key, String message) {
+            checkContains(i);
+            long k = max ? ~key : key;
+            if (k <= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            sink(qp[i]);
+        }
+
+        private int swim(int k) {
+            int i = pq[k];
+            long key = keys[i];
+            while (k > 0) {
+                int parent = PriorityQueue.parent(k);
+                if (keys[pq[parent]] <= key) {
+                    break;
+                }
+                pq[k] = pq[parent];
+                qp[pq[k]] = k;
+                k = parent;
+            }
+            pq[k] = i;
+            qp[i] = k;
+            return k;
+        }
+
+        private void sink(int k) {
+            int i = pq[k];
+            long key = keys[i];
+            int child;
+            while ((child = PriorityQueue.leftChild(k)) < size) {
+                if (child + 1 < size && keys[pq[child + 1]] < keys[pq[child]]) {
+                    child++;
+                }
+                if (keys[pq[child]] >= key) {
+                    break;
+                }
+                pq[k] = pq[child];
+                qp[pq[k]] = k;
+                k = child;
+            }
+            pq[k] = i;
+            qp[i] = k;
+        }
+
+        private void checkContains(int i) {
+            if (!contains(i)) {
+                throw new NoSuchElementException("index is not in the priority queue");
+            }
+        }
+    }
+
+    /**
+     * the engine of the {@code double} keyed queues. A max-queue stores
+     * the negated keys, so both orders keep the smallest stored key at
+     * the top.
+     */
+    abstract static class OfDouble {
+        private final int[] pq;
+        private final int[] qp;
+        private final double[] keys;
+        private final boolean max;
+        private int size;
+
+        OfDouble(int capacity, boolean max) {
+            checkCapacity(capacity);
+            pq = new int[capacity];
+            qp = new int[capacity];
+            keys = new double[capacity];
+            Arrays.fill(qp, -1);
+            this.max = max;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i the index
+         * @return whether i is in the priority queue
+         * @throws IllegalArgumentException if i is out of range
+         */
+        public boolean contains(int i) {
+            checkIndex(i, qp.length);
+            return qp[i] != -1;
+        }
+
+        /**
+         * associate key with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the key
+         * @throws IllegalArgumentException if i is out of range or already in
+         *                                  the priority queue, or key is NaN
+         */
+        public void insert(int i, double key) {
+            if (contains(i)) {
+                throw new IllegalArgumentException("index is already in the priority queue");
+            }
+            checkKey(key);
+            keys[i] = max ? -key : key;
+            pq[size] = i;
+            qp[i] = size;
+            swim(size++);
+        }
+
+        /**
+         * @param i the index
+         * @return the key associated with index i
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public double keyOf(int i) {
+            checkContains(i);
+            return max ? -keys[i] : keys[i];
+        }
+
+        /**
+         * change the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key
+         * @throws IllegalArgumentException if i is out of range, or key is NaN
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void changeKey(int i, double key) {
+            checkContains(i);
+            checkKey(key);
+            keys[i] = max ? -key : key;
+            int k = qp[i];
+            if (swim(k) == k) {
+                sink(k);
+            }
+        }
+
+        /**
+         * remove index i and its key, in log n time
+         *
+         * @param i the index
+         * @throws IllegalArgumentException if i is out of range
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void delete(int i) {
+            checkContains(i);
+            int k = qp[i];
+            int last = --size;
+            if (k != last) {
+                pq[k] = pq[last];
+                qp[pq[k]] = k;
+                if (swim(k) == k) {
+                    sink(k);
+                }
+            }
+            qp[i] = -1;
+        }
+
+        int topIndex() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return pq[0];
+        }
+
+        double topKey() {
+            return keyOf(topIndex());
+        }
+
+        int deleteTop() {
+            int i = topIndex();
+            delete(i);
+            return i;
+        }
+
+        void promote(int i, double key, String message) {
+            checkContains(i);
+            checkKey(key);
+            double k = max ? -key : key;
+            if (k >= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            swim(qp[i]);
+        }
+
+        void demote(int i, double key, String message) {
+            checkContains(i);
+            checkKey(key);
+            double k = max ? -key : key;
+            if (k <= keys[i]) {
+                throw new IllegalArgumentException(message);
+            }
+            keys[i] = k;
+            sink(qp[i]);
+        }
+
+        private int swim(int k) {
+            int i = pq[k];
+            double key = keys[i];
+            while (k > 0) {
+                int parent = PriorityQueue.parent(k);
+                if (keys[pq[parent]] <= key) {
+                    break;
+                }
+                pq[k] = pq[parent];
+                qp[pq[k]] = k;
+                k = parent;
+            }
+            pq[k] = i;
+            qp[i] = k;
+            return k;
+        }
+
+        private void sink(int k) {
+            int i = pq[k];
+            double key = keys[i];
+            int child;
+            while ((child = PriorityQueue.leftChild(k)) < size) {
+                if (child + 1 < size && keys[pq[child + 1]] < keys[pq[child]]) {
+                    child++;
+                }
+                if (keys[pq[child]] >= key) {
+                    break;
+                }
+                pq[k] = pq[child];
+                qp[pq[k]] = k;
+                k = child;
+            }
+            pq[k] = i;
+            qp[i] = k;
+        }
+
+        private void checkContains(int i) {
+            if (!contains(i)) {
+                throw new NoSuchElementException("index is not in the priority queue");
+            }
+        }
+
+        private static void checkKey(double key) {
+            if (Double.isNaN(key)) {
+                throw new IllegalArgumentException("NaN key not allowed!");
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package princeton.algo.binaryHeap;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * The IndexMinPQ class is a priority queue of the indices in [0, capacity), each
+ * associated with a key, that keeps the index with the smallest key at the
+ * top. Unlike {@code PriorityQueue}, an index already in the queue can have
+ * its key changed with {@code changeKey()}, {@code decreaseKey()} or
+ * {@code increaseKey()}, or be removed with {@code delete()}, each in log n
+ * time, and {@code contains()} takes constant time. It uses O(capacity)
+ * memory.
+ * <p>
+ * The nested {@code OfInt}, {@code OfLong} and {@code OfDouble} classes do
+ * the same for primitive keys without boxing.
+ * </p>
+ *
+ * @param <Key> the type of keys
+ */
+public class IndexMinPQ<Key> extends IndexHeap<Key> {
+
+    /**
+     * order the keys by their natural ordering
+     *
+     * @param capacity the indices allowed are [0, capacity)
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexMinPQ(int capacity) {
+        super(capacity, IndexHeap.natural());
+    }
+
+    /**
+     * @param capacity the indices allowed are [0, capacity)
+     * @param c        the order of the keys
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexMinPQ(int capacity, Comparator<? super Key> c) {
+        super(capacity, c);
+    }
+
+    /**
+     * @return the index with the smallest key
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public int minIndex() {
+        return topIndex();
+    }
+
+    /**
+     * @return the smallest key
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public Key minKey() {
+        return topKey();
+    }
+
+    /**
+     * remove the index with the smallest key, in log n time
+     *
+     * @return the index removed
+     * @throws NoSuchElementException if the priority queue is empty
+     */
+    public int delMin() {
+        return deleteTop();
+    }
+
+    /**
+     * decrease the key associated with index i, in log n time
+     *
+     * @param i   the index
+     * @param key the new key, strictly less than the current one
+     * @throws IllegalArgumentException if i is out of range, or key does not
+     *                                  decrease
+     * @throws NoSuchElementException   if i is not in the priority queue
+     */
+    public void decreaseKey(int i, Key key) {
+        promote(i, key, "key does not decrease");
+    }
+
+    /**
+     * increase the key associated with index i, in log n time
+     *
+     * @param i   the index
+     * @param key the new key, strictly greater than the current one
+     * @throws IllegalArgumentException if i is out of range, or key does not
+     *                                  increase
+     * @throws NoSuchElementException   if i is not in the priority queue
+     */
+    public void increaseKey(int i, Key key) {
+        demote(i, key, "key does not increase");
+    }
+
+    /**
+     * an indexed min-priority queue of {@code int} keys
+     */
+    public static class OfInt extends IndexHeap.OfInt {
+
+        /**
+         * @param capacity the indices allowed are [0, capacity)
+         * @throws IllegalArgumentException if capacity is negative
+         */
+        public OfInt(int capacity) {
+            super(capacity, false);
+        }
+
+        /**
+         * @return the index with the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int minIndex() {
+            return topIndex();
+        }
+
+        /**
+         * @return the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int minKey() {
+            return topKey();
+        }
+
+        /**
+         * remove the index with the smallest key, in log n time
+         *
+         * @return the index removed
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int delMin() {
+            return deleteTop();
+        }
+
+        /**
+         * decrease the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly less than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  decrease
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void decreaseKey(int i, int key) {
+            promote(i, key, "key does not decrease");
+        }
+
+        /**
+         * increase the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly greater than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  increase
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void increaseKey(int i, int key) {
+            demote(i, key, "key does not increase");
+        }
+    }
+
+    /**
+     * an indexed min-priority queue of {@code long} keys
+     */
+    public static class OfLong extends IndexHeap.OfLong {
+
+        /**
+         * @param capacity the indices allowed are [0, capacity)
+         * @throws IllegalArgumentException if capacity is negative
+         */
+        public OfLong(int capacity) {
+            super(capacity, false);
+        }
+
+        /**
+         * @return the index with the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int minIndex() {
+            return topIndex();
+        }
+
+        /**
+         * @return the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public long minKey() {
+            return topKey();
+        }
+
+        /**
+         * remove the index with the smallest key, in log n time
+         *
+         * @return the index removed
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int delMin() {
+            return deleteTop();
+        }
+
+        /**
+         * decrease the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly less than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  decrease
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void decreaseKey(int i, long key) {
+            promote(i, key, "key does not decrease");
+        }
+
+        /**
+         * increase the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly greater than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  increase
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void increaseKey(int i, long key) {
+            demote(i, key, "key does not increase");
+        }
+    }
+
+    /**
+     * an indexed min-priority queue of {@code double} keys
+     */
+    public static class OfDouble extends IndexHeap.OfDouble {
+
+        /**
+         * @param capacity the indices allowed are [0, capacity)
+         * @throws IllegalArgumentException if capacity is negative
+         */
+        public OfDouble(int capacity) {
+            super(capacity, false);
+        }
+
+        /**
+         * @return the index with the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int minIndex() {
+            return topIndex();
+        }
+
+        /**
+         * @return the smallest key
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public double minKey() {
+            return topKey();
+        }
+
+        /**
+         * remove the index with the smallest key, in log n time
+         *
+         * @return the index removed
+         * @throws NoSuchElementException if the priority queue is empty
+         */
+        public int delMin() {
+            return deleteTop();
+        }
+
+        /**
+         * decrease the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly less than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  decrease
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void decreaseKey(int i, double key) {
+            promote(i, key, "key does not decrease");
+        }
+
+        /**
+         * increase the key associated with index i, in log n time
+         *
+         * @param i   the index
+         * @param key the new key, strictly greater than the current one
+         * @throws IllegalArgumentException if i is out of range, or key does not
+         *                                  increase
+         * @throws NoSuchElementException   if i is not in the priority queue
+         */
+        public void increaseKey(int i, double key) {
+            demote(i, key, "key does not increase");
+        }
+    }
+}
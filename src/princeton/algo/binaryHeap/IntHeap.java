@@ -0,0 +1,155 @@
+package princeton.algo.binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code IntHeap} class is a priority queue of {@code int} keys kept
+ * in a primitive array: nothing is boxed, and nothing is allocated except
+ * when the array grows. {@code add} and {@code remove} take log n time,
+ * and {@code peek} takes constant time.
+ * <p>
+ *     A min-heap removes the smallest key first, and a max-heap the largest;
+ *     a max-heap stores the complemented keys (~key) so that both share the
+ *     same sifting code. The class does not implement the {@code Queue}
+ *     interface, which would box every entry, but follows its contract:
+ *     peeking or removing from an empty queue throws
+ *     {@code NoSuchElementException}.
+ * </p>
+ */
+public class IntHeap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int size;
+    private final boolean max;
+
+    private IntHeap(int n, boolean max) {
+        if (n < 1) {
+            throw new IllegalArgumentException("initial capacity must be positive");
+        }
+        keys = new int[n];
+        this.max = max;
+    }
+
+    /**
+     * @return an empty queue which removes the smallest key first
+     */
+    public static IntHeap minHeap() {
+        return new IntHeap(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param n the initial capacity
+     * @return an empty queue which removes the smallest key first
+     * @throws IllegalArgumentException if n is negative or zero
+     */
+    public static IntHeap minHeap(int n) {
+        return new IntHeap(n, false);
+    }
+
+    /**
+     * @return an empty queue which removes the largest key first
+     */
+    public static IntHeap maxHeap() {
+        return new IntHeap(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * @param n the initial capacity
+     * @return an empty queue which removes the largest key first
+     * @throws IllegalArgumentException if n is negative or zero
+     */
+    public static IntHeap maxHeap(int n) {
+        return new IntHeap(n, true);
+    }
+
+    /**
+     * add an entry in log n time
+     *
+     * @param key the key
+     */
+    public void add(int key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length << 1);
+        }
+        int k = max ? ~key : key;
+        int i = size++;
+        while (i > 0) {
+            int parent = PriorityQueue.parent(i);
+            if (keys[parent] <= k) {
+                break;
+            }
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        keys[i] = k;
+    }
+
+    /**
+     * @return the first key to be removed
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int peek() {
+        checkNotEmpty();
+        return max ? ~keys[0] : keys[0];
+    }
+
+    /**
+     * remove the smallest key (largest for a max-heap) in log n time
+     *
+     * @return the removed key
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int remove() {
+        checkNotEmpty();
+        int top = keys[0];
+        int n = --size;
+        if (n > 0) {
+            moveDown(keys[n], n);
+        }
+        return max ? ~top : top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * remove every entry, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("underflow!");
+        }
+    }
+
+    /**
+     * put the entry into the hole at the root of the heap stored in
+     * [0, n)
+     */
+    private void moveDown(int key, int n) {
+        int i = 0;
+        int child;
+        while ((child = PriorityQueue.leftChild(i)) < n) {
+            if (child + 1 < n && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[i] = keys[child];
+            i = child;
+        }
+        keys[i] = key;
+    }
+}
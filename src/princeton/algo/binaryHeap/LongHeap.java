@@ -0,0 +1,155 @@
+package princeton.algo.binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code LongHeap} class is a priority queue of {@code long} keys kept
+ * in a primitive array: nothing is boxed, and nothing is allocated except
+ * when the array grows. {@code add} and {@code remove} take log n time,
+ * and {@code peek} takes constant time.
+ * <p>
+ *     A min-heap removes the smallest key first, and a max-heap the largest;
+ *     a max-heap stores the complemented keys (~key) so that both share the
+ *     same sifting code. The class does not implement the {@code Queue}
+ *     interface, which would box every entry, but follows its contract:
+ *     peeking or removing from an empty queue throws
+ *     {@code NoSuchElementException}.
+ * </p>
+ */
+public class LongHeap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+    private final boolean max;
+
+    private LongHeap(int n, boolean max) {
+        if (n < 1) {
+            throw new IllegalArgumentException("initial capacity must be positive");
+        }
+        keys = new long[n];
+        this.max = max;
+    }
+
+    /**
+     * @return an empty queue which removes the smallest key first
+     */
+    public static LongHeap minHeap() {
+        return new LongHeap(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param n the initial capacity
+     * @return an empty queue which removes the smallest key first
+     * @throws IllegalArgumentException if n is negative or zero
+     */
+    public static LongHeap minHeap(int n) {
+        return new LongHeap(n, false);
+    }
+
+    /**
+     * @return an empty queue which removes the largest key first
+     */
+    public static LongHeap maxHeap() {
+        return new LongHeap(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * @param n the initial capacity
+     * @return an empty queue which removes the largest key first
+     * @throws IllegalArgumentException if n is negative or zero
+     */
+    public static LongHeap maxHeap(int n) {
+        return new LongHeap(n, true);
+    }
+
+    /**
+     * add an entry in log n time
+     *
+     * @param key the key
+     */
+    public void add(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length << 1);
+        }
+        long k = max ? ~key : key;
+        int i = size++;
+        while (i > 0) {
+            int parent = PriorityQueue.parent(i);
+            if (keys[parent] <= k) {
+                break;
+            }
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        keys[i] = k;
+    }
+
+    /**
+     * @return the first key to be removed
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long peek() {
+        checkNotEmpty();
+        return max ? ~keys[0] : keys[0];
+    }
+
+    /**
+     * remove the smallest key (largest for a max-heap) in log n time
+     *
+     * @return the removed key
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long remove() {
+        checkNotEmpty();
+        long top = keys[0];
+        int n = --size;
+        if (n > 0) {
+            moveDown(keys[n], n);
+        }
+        return max ? ~top : top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * remove every entry, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("underflow!");
+        }
+    }
+
+    /**
+     * put the entry into the hole at the root of the heap stored in
+     * [0, n)
+     */
+    private void moveDown(long key, int n) {
+        int i = 0;
+        int child;
+        while ((child = PriorityQueue.leftChild(i)) < n) {
+            if (child + 1 < n && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[i] = keys[child];
+            i = child;
+        }
+        keys[i] = key;
+    }
+}
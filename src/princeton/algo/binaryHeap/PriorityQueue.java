@@ -5,6 +5,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import princeton.algo.queue.Queue;
+import princeton.algo.sort.RandomSource;
 import princeton.algo.sort.Util;
 import princeton.algo.stack.Stack;
 
@@ -390,4 +391,9 @@ public class PriorityQueue<T> implements Queue<T>, Stack<T> {
     public void shuffle() {
         throw new UnsupportedOperationException("cannot shuffle PriorityQueue");
     }
+
+    @Override
+    public void shuffle(RandomSource random) {
+        throw new UnsupportedOperationException("cannot shuffle PriorityQueue");
+    }
 }
@@ -0,0 +1,411 @@
+package princeton.algo.binaryHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The TopK class keeps the k largest elements of a stream in a bounded
+ * binary heap of size k, whose root is the smallest element kept. Each
+ * {@code add()} takes O(log k) time, and elements not larger than the root
+ * are dropped in constant time, so n elements take O(n log k) time and O(k)
+ * memory.
+ * <p>
+ * It always keeps the largest end: for the k smallest elements, pass a
+ * reversed comparator, as {@code TableUtil.bottomNValue} does. To sort the
+ * k smallest elements of an array in place, see {@code Quick.partialSort}.
+ * </p>
+ * <p>
+ * The nested {@code OfInt}, {@code OfLong} and {@code OfDouble} classes do
+ * the same for primitive values without boxing.
+ * </p>
+ */
+public class TopK<T> implements Iterable<T> {
+
+    private final T[] heap;
+    private int size;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * keep the k largest elements in natural ordering
+     *
+     * @param k the number of elements to keep
+     * @throws IllegalArgumentException if k is negative
+     */
+    public TopK(int k) {
+        this(k, null);
+    }
+
+    /**
+     * keep the k largest elements according to a comparator
+     *
+     * @param k the number of elements to keep
+     * @param c the comparator
+     * @throws IllegalArgumentException if k is negative
+     */
+    @SuppressWarnings("unchecked")
+    public TopK(int k, Comparator<? super T> c) {
+        checkK(k);
+        heap = (T[]) new Object[k];
+        comparator = c;
+    }
+
+    /**
+     * offer an item, which is kept if it is among the k largest so far
+     *
+     * @param item the item
+     * @throws IllegalArgumentException if item is null
+     */
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("null item encountered");
+        }
+        if (size < heap.length) {
+            heap[size] = item;
+            moveUp(size++);
+        } else if (size > 0 && less(heap[0], item)) {
+            heap[0] = item;
+            moveDown(0);
+        }
+    }
+
+    /**
+     * @return the smallest of the kept items
+     * @throws NoSuchElementException if nothing is kept
+     */
+    public T min() {
+        if (size == 0) {
+            throw new NoSuchElementException("underflow!");
+        }
+        return heap[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the kept items from the largest to the smallest
+     */
+    public Object[] toArray() {
+        Object[] copy = Arrays.copyOf(heap, size);
+        @SuppressWarnings("unchecked")
+        Comparator<Object> c = (Comparator<Object>) (comparator == null ? Comparator.naturalOrder() : comparator);
+        Heap.sort(copy, c.reversed());
+        return copy;
+    }
+
+    /**
+     * @return iterator of the kept items from the largest to the smallest
+     */
+    @Override
+    public Iterator<T> iterator() {
+        @SuppressWarnings("unchecked")
+        Iterator<T> it = (Iterator<T>) Arrays.asList(toArray()).iterator();
+        return it;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean less(T v, T w) {
+        if (comparator == null) {
+            return ((Comparable<? super T>) v).compareTo(w) < 0;
+        }
+        return comparator.compare(v, w) < 0;
+    }
+
+    private void moveUp(int k) {
+        while (k > 0) {
+            int parent = PriorityQueue.parent(k);
+            if (!less(heap[k], heap[parent])) {
+                break;
+            }
+            T temp = heap[k];
+            heap[k] = heap[parent];
+            heap[parent] = temp;
+            k = parent;
+        }
+    }
+
+    private void moveDown(int k) {
+        T item = heap[k];
+        int child;
+        while ((child = PriorityQueue.leftChild(k)) < size) {
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], item)) {
+                break;
+            }
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = item;
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("negative k");
+        }
+    }
+
+    /**
+     * keep the k largest {@code int} values
+     */
+    public static class OfInt {
+        private final int[] heap;
+        private int size;
+
+        /**
+         * @param k the number of values to keep
+         * @throws IllegalArgumentException if k is negative
+         */
+        public OfInt(int k) {
+            checkK(k);
+            heap = new int[k];
+        }
+
+        /**
+         * offer a value, which is kept if it is among the k largest so far
+         *
+         * @param item the value
+         */
+        public void add(int item) {
+            if (size < heap.length) {
+                int k = size++;
+                while (k > 0) {
+                    int parent = PriorityQueue.parent(k);
+                    if (heap[parent] <= item) {
+                        break;
+                    }
+                    heap[k] = heap[parent];
+                    k = parent;
+                }
+                heap[k] = item;
+            } else if (size > 0 && heap[0] < item) {
+                int k = 0;
+                int child;
+                while ((child = PriorityQueue.leftChild(k)) < size) {
+                    if (child + 1 < size && heap[child + 1] < heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] >= item) {
+                        break;
+                    }
+                    heap[k] = heap[child];
+                    k = child;
+                }
+                heap[k] = item;
+            }
+        }
+
+        /**
+         * @return the smallest of the kept values
+         * @throws NoSuchElementException if nothing is kept
+         */
+        public int min() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return heap[0];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @return the kept values from the largest to the smallest
+         */
+        public int[] toArray() {
+            int[] copy = Arrays.copyOf(heap, size);
+            Heap.sort(copy);
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int temp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = temp;
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * keep the k largest {@code long} values
+     */
+    public static class OfLong {
+        private final long[] heap;
+        private int size;
+
+        /**
+         * @param k the number of values to keep
+         * @throws IllegalArgumentException if k is negative
+         */
+        public OfLong(int k) {
+            checkK(k);
+            heap = new long[k];
+        }
+
+        /**
+         * offer a value, which is kept if it is among the k largest so far
+         *
+         * @param item the value
+         */
+        public void add(long item) {
+            if (size < heap.length) {
+                int k = size++;
+                while (k > 0) {
+                    int parent = PriorityQueue.parent(k);
+                    if (heap[parent] <= item) {
+                        break;
+                    }
+                    heap[k] = heap[parent];
+                    k = parent;
+                }
+                heap[k] = item;
+            } else if (size > 0 && heap[0] < item) {
+                int k = 0;
+                int child;
+                while ((child = PriorityQueue.leftChild(k)) < size) {
+                    if (child + 1 < size && heap[child + 1] < heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] >= item) {
+                        break;
+                    }
+                    heap[k] = heap[child];
+                    k = child;
+                }
+                heap[k] = item;
+            }
+        }
+
+        /**
+         * @return the smallest of the kept values
+         * @throws NoSuchElementException if nothing is kept
+         */
+        public long min() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return heap[0];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @return the kept values from the largest to the smallest
+         */
+        public long[] toArray() {
+            long[] copy = Arrays.copyOf(heap, size);
+            Heap.sort(copy);
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                long temp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = temp;
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * keep the k largest {@code double} values
+     */
+    public static class OfDouble {
+        private final double[] heap;
+        private int size;
+
+        /**
+         * @param k the number of values to keep
+         * @throws IllegalArgumentException if k is negative
+         */
+        public OfDouble(int k) {
+            checkK(k);
+            heap = new double[k];
+        }
+
+        /**
+         * offer a value, which is kept if it is among the k largest so far
+         *
+         * @param item the value
+         * @throws IllegalArgumentException if item is NaN
+         */
+        public void add(double item) {
+            if (Double.isNaN(item)) {
+                throw new IllegalArgumentException("NaN item not allowed!");
+            }
+            if (size < heap.length) {
+                int k = size++;
+                while (k > 0) {
+                    int parent = PriorityQueue.parent(k);
+                    if (heap[parent] <= item) {
+                        break;
+                    }
+                    heap[k] = heap[parent];
+                    k = parent;
+                }
+                heap[k] = item;
+            } else if (size > 0 && heap[0] < item) {
+                int k = 0;
+                int child;
+                while ((child = PriorityQueue.leftChild(k)) < size) {
+                    if (child + 1 < size && heap[child + 1] < heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] >= item) {
+                        break;
+                    }
+                    heap[k] = heap[child];
+                    k = child;
+                }
+                heap[k] = item;
+            }
+        }
+
+        /**
+         * @return the smallest of the kept values
+         * @throws NoSuchElementException if nothing is kept
+         */
+        public double min() {
+            if (size == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return heap[0];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @return the kept values from the largest to the smallest
+         */
+        public double[] toArray() {
+            double[] copy = Arrays.copyOf(heap, size);
+            Heap.sort(copy);
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                double temp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = temp;
+            }
+            return copy;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package princeton.algo.queue;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
+import princeton.algo.sort.RandomSource;
 import princeton.algo.sort.Shuffle;
 import princeton.algo.sort.Util;
 
@@ -93,13 +93,17 @@ public class ArrayQueue<Item> implements Queue<Item> {
     }
 
     public void shuffle() {
+        shuffle(RandomSource.current());
+    }
+
+    @Override
+    public void shuffle(RandomSource random) {
         if (count <= 1) {
             return;
         }
         if (head < tail) {
-            Shuffle.shuffle(s, head, tail);
+            Shuffle.shuffle(s, head, tail, random);
         } else {
-            Random random = new Random();
             int j = head + 1;
             for (int i = 1; i < count; i++) {
                 if (j == s.length) {
@@ -2,7 +2,8 @@ package princeton.algo.queue;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
+import princeton.algo.sort.RandomSource;
+import princeton.algo.sort.Shuffle;
 import princeton.algo.stack.Stack;
 
 /**
@@ -180,52 +181,35 @@ public class Deque<Item> implements Queue<Item>, Stack<Item> {
     }
 
     /**
-     * Shuffle Deque using N logN time without extra memory.
+     * Shuffle the Deque uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
      */
     public void shuffle() {
-        Random random = new Random();
-        Deque<Item> deque = new Deque<>();
-        deque.first = first;
-        deque.last = last;
-        deque.size = size;
-        Deque<Item> shuffled = shuffle(deque, random);
-        first = shuffled.first;
-        last = shuffled.last;
+        shuffle(RandomSource.current());
     }
 
-    private Deque<Item> shuffle(Deque<Item> d, Random random) {
-        int dSize = d.size;
-        if (dSize == 1) {
-            return d;
-        }
-        Deque<Item> d1 = new Deque<>();
-        Deque<Item> d2 = new Deque<>();
-        boolean alternate = true;
-        for (int i = 0; i < dSize; i++) {
-            if (alternate) {
-                d1.enqueue(d.dequeue());
-                alternate = false;
-            } else {
-                d2.enqueue(d.dequeue());
-                alternate = true;
-            }
-        }
-        return merge(shuffle(d1, random), shuffle(d2, random), random);
-    }
-
-    private Deque<Item> merge(Deque<Item> d1, Deque<Item> d2, Random random) {
-        Deque<Item> deque = new Deque<>();
-        while (d1.size() > 0 || d2.size() > 0) {
-            double p = (double) d1.size() / (d1.size() + d2.size());
-            if (p == 0) {
-                deque.enqueue(d2.dequeue());
-            } else if (p == 1 || random.nextDouble() < p) {
-                deque.enqueue(d1.dequeue());
-            } else {
-                deque.enqueue(d2.dequeue());
-            }
+    /**
+     * Shuffle the Deque uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
+     *
+     * @param random the source of randomness
+     */
+    @Override
+    public void shuffle(RandomSource random) {
+        Object[] items = new Object[size];
+        int i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            items[i++] = x.item;
+        }
+        Shuffle.shuffle(items, random);
+        i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            @SuppressWarnings("unchecked")
+            Item item = (Item) items[i++];
+            x.item = item;
         }
-        return deque;
     }
 
     public Item peekFirst() {
@@ -2,7 +2,8 @@ package princeton.algo.queue;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
+import princeton.algo.sort.RandomSource;
+import princeton.algo.sort.Shuffle;
 
 /**
  * The LinkedQueue class implements an iterable FIFO queue data structure
@@ -132,51 +133,34 @@ public class LinkedQueue<Item> implements Queue<Item> {
     }
 
     /**
-     * Shuffle the LinkedQueue in N log N time with no extra memory.
+     * Shuffle the LinkedQueue uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
      */
     public void shuffle() {
-        LinkedQueue<Item> deque = new LinkedQueue<>();
-        deque.first = first;
-        deque.last = last;
-        deque.size = size;
-        Random random = new Random();
-        LinkedQueue<Item> shuffled = shuffle(deque, random);
-        first = shuffled.first;
-        last = shuffled.last;
+        shuffle(RandomSource.current());
     }
 
-    private LinkedQueue<Item> shuffle(LinkedQueue<Item> d, Random random) {
-        int dSize = d.size;
-        if (dSize == 1) {
-            return d;
-        }
-        LinkedQueue<Item> d1 = new LinkedQueue<>();
-        LinkedQueue<Item> d2 = new LinkedQueue<>();
-        boolean alternate = true;
-        for (int i = 0; i < dSize; i++) {
-            if (alternate) {
-                d1.enqueue(d.dequeue());
-                alternate = false;
-            } else {
-                d2.enqueue(d.dequeue());
-                alternate = true;
-            }
+    /**
+     * Shuffle the LinkedQueue uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
+     *
+     * @param random the source of randomness
+     */
+    @Override
+    public void shuffle(RandomSource random) {
+        Object[] items = new Object[size];
+        int i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            items[i++] = x.item;
         }
-        return merge(shuffle(d1, random), shuffle(d2, random), random);
-    }
-
-    private LinkedQueue<Item> merge(LinkedQueue<Item> d1, LinkedQueue<Item> d2, Random random) {
-        LinkedQueue<Item> deque = new LinkedQueue<>();
-        while (d1.size() > 0 || d2.size() > 0) {
-            double p = (double) d1.size() / (d1.size() + d2.size());
-            if (p == 0) {
-                deque.enqueue(d2.dequeue());
-            } else if (p == 1 || random.nextDouble() < p) {
-                deque.enqueue(d1.dequeue());
-            } else {
-                deque.enqueue(d2.dequeue());
-            }
+        Shuffle.shuffle(items, random);
+        i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            @SuppressWarnings("unchecked")
+            Item item = (Item) items[i++];
+            x.item = item;
         }
-        return deque;
     }
 }
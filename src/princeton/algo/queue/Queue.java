@@ -1,6 +1,8 @@
 package princeton.algo.queue;
 
 import java.util.NoSuchElementException;
+import princeton.algo.sort.RandomSource;
+import princeton.algo.sort.Shuffle;
 
 /**
  * The Queue interface is an iterable Generic class that implements the Queue
@@ -34,11 +36,31 @@ public interface Queue<Item> extends Iterable<Item> {
     /**
      * shuffle the queue. For array implementation, the operation takes linear time
      * and requires no extra memory. For linked-list implementation, the operation
-     * takes log(n) time, and requires no extra memory.
+     * takes linear time, and copies the items into an array of size n.
      * @throws UnsupportedOperationException if shuffling is not supported.
      */
     void shuffle();
 
+    /**
+     * shuffle the queue with the given source of randomness. The implementations
+     * of this package shuffle in place as {@code shuffle()} does; this default
+     * dequeues all items into an array, shuffles it and enqueues them again.
+     * @param random the source of randomness
+     * @throws UnsupportedOperationException if shuffling is not supported.
+     */
+    default void shuffle(RandomSource random) {
+        Object[] items = new Object[size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = dequeue();
+        }
+        Shuffle.shuffle(items, random);
+        for (Object item : items) {
+            @SuppressWarnings("unchecked")
+            Item t = (Item) item;
+            enqueue(t);
+        }
+    }
+
     /**
      * peek the first item to dequeue, but do not remove.
      * @return {@code null} if empty
@@ -1,28 +1,41 @@
 package princeton.algo.queue;
 
+import princeton.algo.sort.RandomSource;
 import princeton.algo.sort.Shuffle;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
 
 /**
  * The RandomizedQueue class implements an Iterable data structure that provides
  * uniformly random access to items. {@code enqueue}, {@code dequeue}, {@code sample}
  * all takes amortized constant time. The {@code Iterator} takes linear time
  * to initialize, and each instantiation provides statistically independent
- * shuffle order.
+ * shuffle order. Randomness comes from a {@code RandomSource}, by default the
+ * generator of the calling thread.
  *
  * @param <Item>
  */
 public class RandomizedQueue<Item> implements Queue<Item> {
 
-    final Random random = new Random();
+    final RandomSource random;
 
     @SuppressWarnings("unchecked")
     private Item[] s = (Item[]) new Object[1];
     private int size = 0;
 
+    public RandomizedQueue() {
+        this(RandomSource.current());
+    }
+
+    /**
+     * @param random the source of randomness, for example a seeded one to
+     *               reproduce the order of items
+     */
+    public RandomizedQueue(RandomSource random) {
+        this.random = random;
+    }
+
     @Override
     public boolean isEmpty() {
         return size == 0;
@@ -118,14 +131,19 @@ public class RandomizedQueue<Item> implements Queue<Item> {
     }
 
     public void shuffle() {
-        Shuffle.shuffle(s, 0, size);
+        Shuffle.shuffle(s, 0, size, random);
+    }
+
+    @Override
+    public void shuffle(RandomSource random) {
+        Shuffle.shuffle(s, 0, size, random);
     }
 
     private Item[] randomizeCondense() {
         @SuppressWarnings("unchecked")
         Item[] copy = (Item[]) Array.newInstance(s.getClass().getComponentType(), size);
         System.arraycopy(s, 0, copy, 0, size);
-        Shuffle.shuffle(copy);
+        Shuffle.shuffle(copy, random);
         return copy;
     }
 
@@ -1,6 +1,6 @@
 package princeton.algo.queue;
 
-import java.util.Random;
+import princeton.algo.sort.RandomSource;
 
 /**
  * A memory efficient way to choose k items from a stream of inputs, which
@@ -16,11 +16,21 @@ public class StreamChooseK<Item> {
     private int count;
     private double p = 1.0;
     private final RandomizedQueue<Item> collection;
-    private final Random random = new Random();
+    private final RandomSource random;
 
     public StreamChooseK(int k) {
+        this(k, RandomSource.current());
+    }
+
+    /**
+     * @param k      the number of items to choose
+     * @param random the source of randomness, for example a seeded one to
+     *               reproduce the choice
+     */
+    public StreamChooseK(int k, RandomSource random) {
         this.k = k;
-        collection = new RandomizedQueue<>();
+        this.random = random;
+        collection = new RandomizedQueue<>(random);
     }
 
     /**
@@ -2,7 +2,7 @@ package princeton.algo.queue;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import princeton.algo.sort.Shuffle;
+import princeton.algo.sort.RandomSource;
 import princeton.algo.stack.LinkedStack;
 
 /**
@@ -93,7 +93,13 @@ public class TwoStackQueue<Item> implements Queue<Item> {
     @Override
     public void shuffle() {
         pour();
-        Shuffle.shuffle(storeStack);
+        storeStack.shuffle();
+    }
+
+    @Override
+    public void shuffle(RandomSource random) {
+        pour();
+        storeStack.shuffle(random);
     }
 
     public Item peek() {
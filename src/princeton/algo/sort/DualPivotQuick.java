@@ -0,0 +1,539 @@
+package princeton.algo.sort;
+
+/**
+ * A dual-pivot quick sort for primitive arrays (Yaroslavskiy 2009). It
+ * partitions a sub-array into three parts by two pivots {@code p1 < p2}:
+ * {@code < p1}, {@code [p1, p2]} and {@code > p2}. Compared with the single
+ * pivot 3-way partitioning of {@link Quick}, it makes fewer swaps when most
+ * keys are distinct.
+ * <p>
+ * The pivots are the second and fourth of five evenly spaced samples, so the
+ * array is not shuffled, and sorted or reverse sorted input is split evenly.
+ * When the two pivots are equal, the sub-array is 3-way partitioned on that
+ * key instead, which keeps inputs with few distinct keys fast. Sub-arrays not
+ * longer than {@code CUTOFF = 16} are sorted by a sorting network of
+ * {@code SmallSort}.
+ * </p>
+ */
+public class DualPivotQuick {
+
+    private static final int CUTOFF = 16;
+
+    private DualPivotQuick() {}
+
+    /**
+     * dual-pivot quick sort the {@code int} array
+     *
+     * @param a the {@code int} array
+     */
+    public static void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * dual-pivot quick sort the {@code float} array
+     *
+     * @param a the {@code float} array
+     */
+    public static void sort(float[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * dual-pivot quick sort the {@code char} array
+     *
+     * @param a the {@code char} array
+     */
+    public static void sort(char[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * dual-pivot quick sort the {@code long} array
+     *
+     * @param a the {@code long} array
+     */
+    public static void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * dual-pivot quick sort the {@code short} array
+     *
+     * @param a the {@code short} array
+     */
+    public static void sort(short[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * dual-pivot quick sort the {@code double} array
+     *
+     * @param a the {@code double} array
+     */
+    public static void sort(double[] a) {
+        sort(a, 0, a.length);
+    }
+
+    private static void sort(int[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        int p1 = a[lo];
+        int p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(int[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(int[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void sort(float[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        float p1 = a[lo];
+        float p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(float[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(float[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void sort(char[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        char p1 = a[lo];
+        char p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(char[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(char[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void sort(long[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        long p1 = a[lo];
+        long p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(long[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(long[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void sort(short[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        short p1 = a[lo];
+        short p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(short[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(short[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void sort(double[] a, int lo, int hi) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        choosePivots(a, lo, hi);
+        final int last = hi - 1;
+        double p1 = a[lo];
+        double p2 = a[last];
+        if (p1 == p2) {
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                if (a[i] < p1) {
+                    Util.exch(a, lt++, i++);
+                } else if (a[i] > p1) {
+                    Util.exch(a, --gt, i);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt);
+            sort(a, gt, hi);
+            return;
+        }
+        int lt = lo + 1;
+        int gt = last - 1;
+        int i = lo + 1;
+        while (i <= gt) {
+            if (a[i] < p1) {
+                Util.exch(a, lt++, i++);
+            } else if (a[i] > p2) {
+                Util.exch(a, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        Util.exch(a, lo, --lt);
+        Util.exch(a, last, ++gt);
+        sort(a, lo, lt);
+        sort(a, lt + 1, gt);
+        sort(a, gt + 1, hi);
+    }
+
+    /**
+     * sort five evenly spaced samples of a[lo, hi) in place, and move the
+     * second and the fourth to a[lo] and a[hi - 1].
+     */
+    private static void choosePivots(double[] a, int lo, int hi) {
+        int step = (hi - lo) / 6;
+        int e3 = (lo + hi - 1) >>> 1;
+        int e2 = e3 - step;
+        int e1 = e2 - step;
+        int e4 = e3 + step;
+        int e5 = e4 + step;
+        compareExch(a, e1, e2);
+        compareExch(a, e4, e5);
+        compareExch(a, e3, e5);
+        compareExch(a, e3, e4);
+        compareExch(a, e2, e5);
+        compareExch(a, e1, e4);
+        compareExch(a, e1, e3);
+        compareExch(a, e2, e4);
+        compareExch(a, e2, e3);
+        Util.exch(a, lo, e2);
+        Util.exch(a, hi - 1, e4);
+    }
+
+    private static void compareExch(double[] a, int i, int j) {
+        if (a[j] < a[i]) {
+            Util.exch(a, i, j);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package princeton.algo.sort;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import princeton.algo.binaryHeap.PriorityQueue;
+
+/**
+ * External merge sort for files larger than the memory.
+ * <p>
+ * The input is read in chunks that fit in the memory budget. Each chunk is
+ * sorted in memory and spilled to a temporary file as a sorted run, next to
+ * the output file. The runs are then k-way merged through a
+ * {@code PriorityQueue} of run heads. If the budget cannot hold a buffer for
+ * every run, groups of runs are first merged into longer runs, so the number
+ * of passes is {@code log_k(runs)} with {@code k = memory / buffer}.
+ * </p>
+ * <p>
+ * {@code sortRecords} sorts fixed-width binary records by a {@code long} key:
+ * the keys of a chunk are extracted once and sorted by the stable
+ * {@code Merge.argsort}, and runs are merged in their order on equal keys, so
+ * the sort is stable. {@code sortLines} sorts text lines in {@code String}
+ * order by {@code StringSort.sort3way}. Files are read and written through
+ * buffered {@code FileChannel}s.
+ * </p>
+ */
+public class ExternalSort {
+
+    private static final int MIN_BUFFER = 1 << 16;
+
+    private static final int MAX_BUFFER = 1 << 20;
+
+    private ExternalSort() {}
+
+    /**
+     * Sort a file of fixed-width records by a {@code long} key. The sort is
+     * stable.
+     *
+     * @param in         the input file, whose size is a multiple of recordSize
+     * @param out        the output file, which is replaced if it exists
+     * @param recordSize the number of bytes of a record
+     * @param key        the key of a record, read with relative gets from a
+     *                   buffer positioned at the start of the record and limited
+     *                   at its end
+     * @param memory     the memory budget in bytes
+     * @throws IllegalArgumentException if recordSize or memory is too small, or
+     *                                  the input is not made of whole records
+     * @throws IOException              if an I/O error occurs
+     */
+    public static void sortRecords(Path in, Path out, int recordSize, ToLongFunction<ByteBuffer> key, long memory)
+            throws IOException {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("record size must be positive");
+        }
+        checkMemory(memory);
+        if (Files.size(in) % recordSize != 0) {
+            throw new IllegalArgumentException("input is not made of whole records");
+        }
+        // a chunk, its sorted copy, and its keys and indices
+        long chunkRecords = Math.min(memory / (2L * recordSize + 24), Integer.MAX_VALUE / recordSize);
+        if (chunkRecords == 0) {
+            throw new IllegalArgumentException("memory budget too small");
+        }
+        Path dir = tempDir(out);
+        List<Path> temps = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        try {
+            try (FileChannel channel = FileChannel.open(in, StandardOpenOption.READ)) {
+                byte[] chunk = new byte[(int) chunkRecords * recordSize];
+                byte[] sorted = new byte[chunk.length];
+                int length;
+                while ((length = readFully(channel, chunk)) > 0) {
+                    int n = length / recordSize;
+                    long[] keys = new long[n];
+                    ByteBuffer view = ByteBuffer.wrap(chunk).asReadOnlyBuffer();
+                    for (int i = 0; i < n; i++) {
+                        keys[i] = key.applyAsLong(recordAt(view, i * recordSize, recordSize));
+                    }
+                    int[] index = Merge.argsort(keys);
+                    for (int i = 0; i < n; i++) {
+                        System.arraycopy(chunk, index[i] * recordSize, sorted, i * recordSize, recordSize);
+                    }
+                    Path run = tempFile(dir, temps);
+                    runs.add(run);
+                    try (FileChannel writer = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                        writeFully(writer, ByteBuffer.wrap(sorted, 0, length));
+                    }
+                }
+            }
+            int buffer = bufferSize(memory, runs.size(), recordSize);
+            int fanIn = fanIn(memory, buffer);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = tempFile(dir, temps);
+                    merged.add(run);
+                    mergeRecords(group, run, recordSize, key, buffer);
+                    deleteAll(group);
+                }
+                runs = merged;
+                buffer = bufferSize(memory, runs.size(), recordSize);
+            }
+            finish(runs, out, last -> mergeRecords(last, out, recordSize, key, bufferSize(memory, last.size(), recordSize)));
+        } finally {
+            deleteAll(temps);
+        }
+    }
+
+    /**
+     * Sort the lines of a UTF-8 text file in {@code String} order. Every output
+     * line ends with {@code '\n'}.
+     *
+     * @param in     the input file
+     * @param out    the output file, which is replaced if it exists
+     * @param memory the memory budget in bytes
+     * @throws IllegalArgumentException if memory is too small
+     * @throws IOException              if an I/O error occurs
+     */
+    public static void sortLines(Path in, Path out, long memory) throws IOException {
+        sortLines(in, out, StandardCharsets.UTF_8, memory);
+    }
+
+    /**
+     * Sort the lines of a text file in {@code String} order. Every output line
+     * ends with {@code '\n'}.
+     *
+     * @param in      the input file
+     * @param out     the output file, which is replaced if it exists
+     * @param charset the charset of both files
+     * @param memory  the memory budget in bytes
+     * @throws IllegalArgumentException if memory is too small
+     * @throws IOException              if an I/O error occurs
+     */
+    public static void sortLines(Path in, Path out, Charset charset, long memory) throws IOException {
+        checkMemory(memory);
+        Path dir = tempDir(out);
+        List<Path> temps = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        try {
+            try (BufferedReader reader = reader(in, charset, MIN_BUFFER)) {
+                List<String> chunk = new ArrayList<>();
+                String line = reader.readLine();
+                while (line != null) {
+                    // about half the budget for the strings, the rest for sorting
+                    long used = 0;
+                    while (line != null && (chunk.isEmpty() || used < memory / 2)) {
+                        chunk.add(line);
+                        used += 64 + 2L * line.length();
+                        line = reader.readLine();
+                    }
+                    String[] lines = chunk.toArray(new String[0]);
+                    chunk.clear();
+                    StringSort.sort3way(lines);
+                    Path run = tempFile(dir, temps);
+                    runs.add(run);
+                    try (BufferedWriter writer = writer(run, charset, MIN_BUFFER)) {
+                        for (String s : lines) {
+                            writer.write(s);
+                            writer.write('\n');
+                        }
+                    }
+                }
+            }
+            int buffer = bufferSize(memory, runs.size(), 1);
+            int fanIn = fanIn(memory, buffer);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = tempFile(dir, temps);
+                    merged.add(run);
+                    mergeLines(group, run, charset, buffer);
+                    deleteAll(group);
+                }
+                runs = merged;
+                buffer = bufferSize(memory, runs.size(), 1);
+            }
+            finish(runs, out, last -> mergeLines(last, out, charset, bufferSize(memory, last.size(), 1)));
+        } finally {
+            deleteAll(temps);
+        }
+    }
+
+    private interface Merger {
+        void merge(List<Path> runs) throws IOException;
+    }
+
+    /**
+     * merge the last runs into out, or move a single run there
+     */
+    private static void finish(List<Path> runs, Path out, Merger merger) throws IOException {
+        if (runs.size() == 1) {
+            Files.move(runs.get(0), out, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            // also creates an empty output for an empty input
+            merger.merge(runs);
+        }
+    }
+
+    private static void mergeRecords(List<Path> runs, Path out, int recordSize, ToLongFunction<ByteBuffer> key,
+                                     int buffer) throws IOException {
+        PriorityQueue<RecordRun> heads = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.<RecordRun>reverseOrder());
+        try (FileChannel writer = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    RecordRun run = new RecordRun(runs.get(i), i, recordSize, key, buffer);
+                    if (run.advance()) {
+                        heads.add(run);
+                    } else {
+                        run.close();
+                    }
+                }
+                ByteBuffer output = ByteBuffer.allocate(buffer);
+                while (!heads.isEmpty()) {
+                    RecordRun run = heads.remove();
+                    if (output.remaining() < recordSize) {
+                        output.flip();
+                        writeFully(writer, output);
+                        output.clear();
+                    }
+                    output.put(run.record());
+                    if (run.advance()) {
+                        heads.add(run);
+                    } else {
+                        run.close();
+                    }
+                }
+                output.flip();
+                writeFully(writer, output);
+            } finally {
+                while (!heads.isEmpty()) {
+                    heads.remove().close();
+                }
+            }
+        }
+    }
+
+    private static void mergeLines(List<Path> runs, Path out, Charset charset, int buffer) throws IOException {
+        PriorityQueue<LineRun> heads = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.<LineRun>reverseOrder());
+        try (BufferedWriter writer = writer(out, charset, buffer)) {
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    LineRun run = new LineRun(reader(runs.get(i), charset, buffer), i);
+                    if (run.advance()) {
+                        heads.add(run);
+                    } else {
+                        run.close();
+                    }
+                }
+                while (!heads.isEmpty()) {
+                    LineRun run = heads.remove();
+                    writer.write(run.line);
+                    writer.write('\n');
+                    if (run.advance()) {
+                        heads.add(run);
+                    } else {
+                        run.close();
+                    }
+                }
+            } finally {
+                while (!heads.isEmpty()) {
+                    heads.remove().close();
+                }
+            }
+        }
+    }
+
+    /**
+     * A sorted run of records, ordered by its current record and then by its
+     * position among the runs, which keeps the merge stable.
+     */
+    private static class RecordRun implements Comparable<RecordRun> {
+        private final FileChannel channel;
+        private final int order;
+        private final int recordSize;
+        private final ToLongFunction<ByteBuffer> key;
+        private final ByteBuffer buffer;
+        private final ByteBuffer view;
+        private long current;
+
+        RecordRun(Path path, int order, int recordSize, ToLongFunction<ByteBuffer> key, int buffer)
+                throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.order = order;
+            this.recordSize = recordSize;
+            this.key = key;
+            this.buffer = ByteBuffer.allocate(buffer);
+            this.buffer.flip();
+            this.view = this.buffer.asReadOnlyBuffer();
+        }
+
+        /**
+         * move to the next record
+         *
+         * @return false if the run is exhausted
+         */
+        boolean advance() throws IOException {
+            if (buffer.hasRemaining()) {
+                buffer.position(buffer.position() + recordSize);
+            }
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                while (buffer.position() % recordSize != 0 || buffer.position() == 0) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    return false;
+                }
+            }
+            current = key.applyAsLong(recordAt(view, buffer.position(), recordSize));
+            return true;
+        }
+
+        /**
+         * @return the current record as a buffer
+         */
+        ByteBuffer record() {
+            return recordAt(view, buffer.position(), recordSize);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public int compareTo(RecordRun that) {
+            int cmp = Long.compare(current, that.current);
+            return cmp != 0 ? cmp : Integer.compare(order, that.order);
+        }
+    }
+
+    /**
+     * A sorted run of lines, ordered by its current line and then by its
+     * position among the runs.
+     */
+    private static class LineRun implements Comparable<LineRun> {
+        private final BufferedReader reader;
+        private final int order;
+        private String line;
+
+        LineRun(BufferedReader reader, int order) {
+            this.reader = reader;
+            this.order = order;
+        }
+
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            return line != null;
+        }
+
+        void close() throws IOException {
+            reader.close();
+        }
+
+        @Override
+        public int compareTo(LineRun that) {
+            int cmp = line.compareTo(that.line);
+            return cmp != 0 ? cmp : Integer.compare(order, that.order);
+        }
+    }
+
+    /**
+     * position the view on a record
+     */
+    private static ByteBuffer recordAt(ByteBuffer view, int offset, int recordSize) {
+        view.clear();
+        view.position(offset).limit(offset + recordSize);
+        return view;
+    }
+
+    /**
+     * @return the number of bytes read into a, which is less than its length
+     *         only at the end of the channel
+     */
+    private static int readFully(FileChannel channel, byte[] a) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(a);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static BufferedReader reader(Path path, Charset charset, int buffer) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, charset.newDecoder(), -1), buffer);
+    }
+
+    private static BufferedWriter writer(Path path, Charset charset, int buffer) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, charset.newEncoder(), -1), buffer);
+    }
+
+    /**
+     * @return the buffer size of each run and the output when merging runs,
+     *         a multiple of recordSize
+     */
+    private static int bufferSize(long memory, int runs, int recordSize) {
+        long buffer = Math.max(MIN_BUFFER, Math.min(MAX_BUFFER, memory / (runs + 1)));
+        buffer = Math.max(recordSize, buffer / recordSize * recordSize);
+        return (int) Math.min(buffer, Integer.MAX_VALUE / recordSize * recordSize);
+    }
+
+    /**
+     * @return the number of runs merged at once, one buffer being the output
+     */
+    private static int fanIn(long memory, int buffer) {
+        return (int) Math.max(2, Math.min(Integer.MAX_VALUE, memory / buffer - 1));
+    }
+
+    private static Path tempDir(Path out) {
+        Path parent = out.toAbsolutePath().getParent();
+        return parent == null ? out.toAbsolutePath() : parent;
+    }
+
+    private static void checkMemory(long memory) {
+        if (memory < 4L * MIN_BUFFER) {
+            throw new IllegalArgumentException("memory budget too small");
+        }
+    }
+
+    private static Path tempFile(Path dir, List<Path> temps) throws IOException {
+        Path path = Files.createTempFile(dir, "sort", ".run");
+        temps.add(path);
+        return path;
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
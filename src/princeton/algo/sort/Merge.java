@@ -2,6 +2,8 @@ package princeton.algo.sort;
 
 import java.lang.reflect.Array;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import princeton.algo.queue.LinkedQueue;
 import princeton.algo.queue.Queue;
@@ -10,14 +12,28 @@ import princeton.algo.stack.Stack;
 
 /**
  * This merge sort algorithm uses recursive function.
- * The algorithm uses insertion sort for arrays with length shorter than 8.
+ * The algorithm uses insertion sort for arrays with length shorter than 8
+ * (a sorting network of {@code SmallSort} for primitive arrays).
  * It stores results in two alternating arrays a and b.
  * It also checks whether merging is necessary.
+ * <p>
+ * The {@code parallelSort} methods sort the two halves concurrently on a
+ * {@code ForkJoinPool}, and merge them with a parallel merge which splits the
+ * longer run at its middle and co-ranks the split point in the other run by
+ * binary search. Ties always go to the left run, so the sort stays stable.
+ * </p>
+ * <p>
+ * The {@code argsort} methods sort a permutation of indices instead of the
+ * array itself, so that one order can be applied to several parallel arrays.
+ * They are stable.
+ * </p>
  */
 public class Merge {
 
     private static final int CUTOFF = 8;
 
+    private static final int PARALLEL_CUTOFF = 1 << 13;
+
     private Merge() {}
 
     /**
@@ -34,6 +50,22 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort a mutually comparable array using a caller-supplied auxiliary
+     * array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @param <T> a mutually comparable type
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] a, T[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort an array. Insertion sort when length is shorter than 8.
      *
@@ -48,6 +80,66 @@ public class Merge {
         sort(b, a, 0, a.length, c);
     }
 
+    /**
+     * Merge sort an array using a caller-supplied auxiliary array, so that
+     * repeated sorts allocate nothing. The content of {@code aux} is overwritten.
+     *
+     * @param a   the array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static <T> void sort(T[] a, T[] aux, Comparator<? super T> c) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length, c);
+    }
+
+    /**
+     * Merge sort a mutually comparable array in parallel using the common
+     * {@code ForkJoinPool}. The sort is stable.
+     *
+     * @param a   the array to be sorted
+     * @param <T> a mutually comparable type
+     */
+    public static <T extends Comparable<? super T>> void parallelSort(T[] a) {
+        parallelSort(a, Comparator.naturalOrder(), PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Merge sort an array in parallel using the common {@code ForkJoinPool}.
+     * The sort is stable.
+     *
+     * @param a   the array to be sorted
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     */
+    public static <T> void parallelSort(T[] a, Comparator<? super T> c) {
+        parallelSort(a, c, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Merge sort an array in parallel using the common {@code ForkJoinPool}.
+     * Sub-arrays no longer than {@code cutoff} are sorted and merged
+     * sequentially. The sort is stable.
+     *
+     * @param a      the array to be sorted
+     * @param c      the comparator of the array component type
+     * @param cutoff the sequential cutoff
+     * @param <T>    the type of which the comparator compares
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static <T> void parallelSort(T[] a, Comparator<? super T> c, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        @SuppressWarnings("unchecked")
+        T[] b = (T[]) Array.newInstance(a.getClass().getComponentType(), a.length);
+        System.arraycopy(a, 0, b, 0, a.length);
+        ForkJoinPool.commonPool().invoke(new SortTask<>(b, a, 0, a.length, c, cutoff));
+    }
+
     /**
      * Merge sort a queue.
      *
@@ -213,6 +305,111 @@ public class Merge {
         }
     }
 
+    /**
+     * Stable indirect merge sort. The array is not changed.
+     *
+     * @param a   the mutually comparable array
+     * @param <T> a mutually comparable type
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static <T extends Comparable<? super T>> int[] argsort(T[] a) {
+        return argsort(a, Comparator.naturalOrder());
+    }
+
+    /**
+     * Stable indirect merge sort. The array is not changed.
+     *
+     * @param a   the array
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static <T> int[] argsort(T[] a, Comparator<? super T> c) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length, c);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code int} array. The array is not changed.
+     *
+     * @param a the {@code int} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(int[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code short} array. The array is not changed.
+     *
+     * @param a the {@code short} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(short[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code long} array. The array is not changed.
+     *
+     * @param a the {@code long} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(long[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code float} array. The array is not changed.
+     *
+     * @param a the {@code float} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(float[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code double} array. The array is not changed.
+     *
+     * @param a the {@code double} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(double[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Stable indirect merge sort {@code char} array. The array is not changed.
+     *
+     * @param a the {@code char} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted, equal elements keeping their original order
+     */
+    public static int[] argsort(char[] a) {
+        int[] index = identity(a.length);
+        argsort(a, index.clone(), index, 0, a.length);
+        return index;
+    }
+
     /**
      * Merge sort {@code int} array
      *
@@ -224,6 +421,21 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code int} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code int} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort {@code short} array
      *
@@ -235,6 +447,21 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code short} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code short} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(short[] a, short[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort {@code long} array
      *
@@ -246,6 +473,21 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code long} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code long} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(long[] a, long[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort {@code float} array
      *
@@ -257,6 +499,21 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code float} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code float} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(float[] a, float[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort {@code double} array
      *
@@ -268,6 +525,21 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code double} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code double} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(double[] a, double[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
     /**
      * Merge sort {@code char} array
      *
@@ -279,6 +551,301 @@ public class Merge {
         sort(b, a, 0, a.length);
     }
 
+    /**
+     * Merge sort {@code char} array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the {@code char} array
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(char[] a, char[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length);
+    }
+
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static <T> void argsort(T[] keys, int[] b, int[] a, int lo, int hi, Comparator<? super T> c) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && c.compare(keys[index], keys[a[j - 1]]) < 0; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid, c);
+        argsort(keys, a, b, mid, hi, c);
+        if (c.compare(keys[b[mid]], keys[b[mid - 1]]) < 0) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (c.compare(keys[b[j]], keys[b[i]]) < 0) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(int[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(short[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(long[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(float[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(double[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * merge sort the indices a[lo, hi) by their keys, using b[lo, hi), which
+     * holds the same indices, as the auxiliary array.
+     */
+    private static void argsort(char[] keys, int[] b, int[] a, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                int index = a[i];
+                int j = i;
+                for (; j > lo && keys[index] < keys[a[j - 1]]; j--) {
+                    a[j] = a[j - 1];
+                }
+                a[j] = index;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        argsort(keys, a, b, lo, mid);
+        argsort(keys, a, b, mid, hi);
+        if (keys[b[mid]] < keys[b[mid - 1]]) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i == mid) {
+                    a[k] = b[j++];
+                } else if (j == hi) {
+                    a[k] = b[i++];
+                } else if (keys[b[j]] < keys[b[i]]) {
+                    a[k] = b[j++];
+                } else {
+                    a[k] = b[i++];
+                }
+            }
+        } else {
+            System.arraycopy(b, lo, a, lo, hi - lo);
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        return index;
+    }
+
+    private static void checkAux(int length, int auxLength) {
+        if (auxLength < length) {
+            throw new IllegalArgumentException("auxiliary array is too short");
+        }
+    }
 
     private static <T extends Comparable<? super T>> void sort(T[] b, T[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
@@ -316,7 +883,7 @@ public class Merge {
 
     private static void sort(int[] b, int[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -334,7 +901,7 @@ public class Merge {
 
     private static void sort(short[] b, short[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -352,7 +919,7 @@ public class Merge {
 
     private static void sort(long[] b, long[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -370,7 +937,7 @@ public class Merge {
 
     private static void sort(float[] b, float[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -388,7 +955,7 @@ public class Merge {
 
     private static void sort(double[] b, double[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -406,7 +973,7 @@ public class Merge {
 
     private static void sort(char[] b, char[] a, int lo, int hi) {
         if (hi <= lo + CUTOFF) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
         int mid = (lo + hi) >>> 1;
@@ -557,4 +1124,147 @@ public class Merge {
         }
         assert Util.isSorted(dest, lo, hi);
     }
+
+    /**
+     * merge sorted src[lo1, hi1) and sorted src[lo2, hi2) into dest[k, ...),
+     * taking from the first run on ties.
+     */
+    private static <T> void merge(T[] src, T[] dest, int lo1, int hi1, int lo2, int hi2, int k,
+                                  Comparator<? super T> c) {
+        while (lo1 < hi1 && lo2 < hi2) {
+            if (Util.less(src[lo2], src[lo1], c)) {
+                dest[k++] = src[lo2++];
+            } else {
+                dest[k++] = src[lo1++];
+            }
+        }
+        if (lo1 < hi1) {
+            System.arraycopy(src, lo1, dest, k, hi1 - lo1);
+        } else if (lo2 < hi2) {
+            System.arraycopy(src, lo2, dest, k, hi2 - lo2);
+        }
+    }
+
+    /**
+     * @return the first index in sorted a[lo, hi) whose element is not less than key
+     */
+    private static <T> int lowerBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Util.less(a[mid], key, c)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first index in sorted a[lo, hi) whose element is greater than key
+     */
+    private static <T> int upperBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Util.less(key, a[mid], c)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * sort a[lo, hi) using b as auxiliary array, where b[lo, hi) is a copy of a[lo, hi).
+     */
+    private static class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] b;
+        private final T[] a;
+        private final int lo;
+        private final int hi;
+        private final Comparator<? super T> c;
+        private final int cutoff;
+
+        SortTask(T[] b, T[] a, int lo, int hi, Comparator<? super T> c, int cutoff) {
+            this.b = b;
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= Math.max(cutoff, CUTOFF)) {
+                sort(b, a, lo, hi, c);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, b, lo, mid, c, cutoff), new SortTask<>(a, b, mid, hi, c, cutoff));
+            if (Util.less(b[mid], b[mid - 1], c)) {
+                new MergeTask<>(b, a, lo, mid, mid, hi, lo, c, cutoff).compute();
+            } else {
+                System.arraycopy(b, lo, a, lo, hi - lo);
+            }
+            assert Util.isSorted(a, lo, hi, c);
+        }
+    }
+
+    /**
+     * merge sorted src[lo1, hi1) and sorted src[lo2, hi2) into dest[k, ...).
+     * The longer run is split at its middle element, whose rank in the other
+     * run is found by binary search. The two halves are merged concurrently.
+     */
+    private static class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] src;
+        private final T[] dest;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int k;
+        private final Comparator<? super T> c;
+        private final int cutoff;
+
+        MergeTask(T[] src, T[] dest, int lo1, int hi1, int lo2, int hi2, int k,
+                  Comparator<? super T> c, int cutoff) {
+            this.src = src;
+            this.dest = dest;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.c = c;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= Math.max(cutoff, CUTOFF)) {
+                merge(src, dest, lo1, hi1, lo2, hi2, k, c);
+                return;
+            }
+            int split1;
+            int split2;
+            if (n1 >= n2) {
+                // elements of the second run equal to the key go after it
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1], c);
+            } else {
+                // elements of the first run equal to the key go before it
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2], c);
+            }
+            int kSplit = k + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask<>(src, dest, lo1, split1, lo2, split2, k, c, cutoff),
+                      new MergeTask<>(src, dest, split1, hi1, split2, hi2, kSplit, c, cutoff));
+        }
+    }
 }
@@ -5,12 +5,26 @@ import java.util.Comparator;
 
 /**
  * This bottom up merge sort algorithm uses Insertion sort of length 8
- * at first stage. It stores results in two alternating arrays a and b.
+ * at first stage (a sorting network of {@code SmallSort} for primitive arrays). It stores results in two alternating arrays a and b.
  * The algorithm is stable. It also checks whether merging is necessary.
+ * <p>
+ * {@code sortNatural()} is an adaptive natural merge sort in the style of
+ * TimSort. It scans the array for ascending runs (reversing strictly
+ * descending ones), extends runs shorter than ~32 by binary insertion, and
+ * merges them under a stack invariant that keeps the merges balanced. When
+ * one run keeps winning during a merge, it switches to galloping (exponential
+ * search) and copies whole blocks. Nearly sorted input takes ~N compares.
+ * {@code float} and {@code double} are ordered as {@code Float.compare} and
+ * {@code Double.compare} do, so NaN cannot break the run invariants.
+ * </p>
  */
 public class MergeBU {
 
     private static final int CUTOFF = 8;
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    // enough for 2^31 elements, since run lengths grow at least like Fibonacci numbers
+    private static final int STACK_SIZE = 49;
 
     private MergeBU() {}
 
@@ -22,9 +36,25 @@ public class MergeBU {
      * @param <T> a mutually comparable type
      */
     public static <T extends Comparable<? super T>> void sort(T[] a) {
-        int length = a.length;
         @SuppressWarnings("unchecked")
-        T[] b = (T[]) Array.newInstance(a.getClass().getComponentType(), length);
+        T[] aux = (T[]) Array.newInstance(a.getClass().getComponentType(), a.length);
+        sort(a, aux);
+    }
+
+    /**
+     * Bottom up merge sort a mutually comparable array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @param <T> a mutually comparable type
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] a, T[] aux) {
+        checkAux(a.length, aux.length);
+        int length = a.length;
+        T[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
             Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
@@ -35,11 +65,11 @@ public class MergeBU {
             T[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -54,9 +84,26 @@ public class MergeBU {
      * @param <T> the type of which the comparator compares
      */
     public static <T> void sort(T[] a, Comparator<? super T> c) {
-        int length = a.length;
         @SuppressWarnings("unchecked")
-        T[] b = (T[]) Array.newInstance(a.getClass().getComponentType(), length);
+        T[] aux = (T[]) Array.newInstance(a.getClass().getComponentType(), a.length);
+        sort(a, aux, c);
+    }
+
+    /**
+     * Bottom up merge sort an array using a caller-supplied auxiliary array, so
+     * that repeated sorts allocate nothing. The content of {@code aux} is
+     * overwritten.
+     *
+     * @param a   the array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static <T> void sort(T[] a, T[] aux, Comparator<? super T> c) {
+        checkAux(a.length, aux.length);
+        int length = a.length;
+        T[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
             Insertion.sort(a, lo, Math.min(length, lo + CUTOFF), c);
@@ -67,11 +114,11 @@ public class MergeBU {
             T[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size, c);
+            mergeTo(b, a, size, length, c);
             round++;
         }
 
-        assert Util.isSorted(a, c);
+        assert Util.isSorted(a, 0, length, c);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -85,11 +132,25 @@ public class MergeBU {
      * @param a the {@code int} array to be sorted
      */
     public static void sort(int[] a) {
+        sort(a, new int[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code int} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code int} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        int[] b = new int[length];
+        int[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -97,11 +158,11 @@ public class MergeBU {
             int[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -115,11 +176,25 @@ public class MergeBU {
      * @param a the {@code double} array to be sorted
      */
     public static void sort(double[] a) {
+        sort(a, new double[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code double} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code double} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(double[] a, double[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        double[] b = new double[length];
+        double[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -127,11 +202,11 @@ public class MergeBU {
             double[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -145,11 +220,25 @@ public class MergeBU {
      * @param a the {@code float} array to be sorted
      */
     public static void sort(float[] a) {
+        sort(a, new float[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code float} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code float} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(float[] a, float[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        float[] b = new float[length];
+        float[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -157,11 +246,11 @@ public class MergeBU {
             float[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -175,11 +264,25 @@ public class MergeBU {
      * @param a the {@code long} array to be sorted
      */
     public static void sort(long[] a) {
+        sort(a, new long[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code long} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code long} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(long[] a, long[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        long[] b = new long[length];
+        long[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -187,11 +290,11 @@ public class MergeBU {
             long[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -205,11 +308,25 @@ public class MergeBU {
      * @param a the {@code short} array to be sorted
      */
     public static void sort(short[] a) {
+        sort(a, new short[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code short} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code short} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(short[] a, short[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        short[] b = new short[length];
+        short[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -217,11 +334,11 @@ public class MergeBU {
             short[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
@@ -235,11 +352,25 @@ public class MergeBU {
      * @param a the {@code char} array to be sorted
      */
     public static void sort(char[] a) {
+        sort(a, new char[a.length]);
+    }
+
+    /**
+     * Bottom up merge sort a {@code char} array using a caller-supplied
+     * auxiliary array, so that repeated sorts allocate nothing. The content of
+     * {@code aux} is overwritten.
+     *
+     * @param a   the {@code char} array to be sorted
+     * @param aux the auxiliary array, not shorter than {@code a}
+     * @throws IllegalArgumentException if {@code aux} is shorter than {@code a}
+     */
+    public static void sort(char[] a, char[] aux) {
+        checkAux(a.length, aux.length);
         int length = a.length;
-        char[] b = new char[length];
+        char[] b = aux;
 
         for (int lo = 0; lo < length; lo += CUTOFF) {
-            Insertion.sort(a, lo, Math.min(length, lo + CUTOFF));
+            SmallSort.sort(a, lo, Math.min(length, lo + CUTOFF));
         }
 
         int round = 0;
@@ -247,19 +378,109 @@ public class MergeBU {
             char[] temp = a;
             a = b;
             b = temp;
-            mergeTo(b, a, size);
+            mergeTo(b, a, size, length);
             round++;
         }
 
-        assert Util.isSorted(a);
+        assert Util.isSorted(a, 0, length);
 
         if (round % 2 == 1) {
             System.arraycopy(a, 0, b, 0, length);
         }
     }
 
-    private static <T extends Comparable<? super T>> void mergeTo(T[] src, T[] dest, int size) {
-        int length = src.length;
+    /**
+     * Natural merge sort a mutually comparable array. See {@link #sortNatural(Object[], Comparator)}.
+     *
+     * @param a   the array to be sorted
+     * @param <T> a mutually comparable type
+     */
+    public static <T extends Comparable<? super T>> void sortNatural(T[] a) {
+        sortNatural(a, Comparator.naturalOrder());
+    }
+
+    /**
+     * Natural merge sort an array. Existing ascending runs are kept and strictly
+     * descending runs are reversed, so an array made of a few sorted segments is
+     * sorted in ~N compares. The sort is stable.
+     *
+     * @param a   the array to be sorted
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     * @throws IllegalArgumentException if the comparator is found inconsistent
+     */
+    public static <T> void sortNatural(T[] a, Comparator<? super T> c) {
+        sortNatural(a, 0, a.length, c);
+        assert a.length == 0 || Util.isSorted(a, c);
+    }
+
+    /**
+     * Natural merge sort {@code int} array
+     *
+     * @param a the {@code int} array
+     */
+    public static void sortNatural(int[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * Natural merge sort {@code double} array
+     *
+     * @param a the {@code double} array
+     */
+    public static void sortNatural(double[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * Natural merge sort {@code float} array
+     *
+     * @param a the {@code float} array
+     */
+    public static void sortNatural(float[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * Natural merge sort {@code long} array
+     *
+     * @param a the {@code long} array
+     */
+    public static void sortNatural(long[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * Natural merge sort {@code short} array
+     *
+     * @param a the {@code short} array
+     */
+    public static void sortNatural(short[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * Natural merge sort {@code char} array
+     *
+     * @param a the {@code char} array
+     */
+    public static void sortNatural(char[] a) {
+        sortNatural(a, 0, a.length);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    private static void checkAux(int length, int auxLength) {
+        if (auxLength < length) {
+            throw new IllegalArgumentException("auxiliary array is too short");
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void mergeTo(T[] src, T[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -276,8 +497,7 @@ public class MergeBU {
         }
     }
 
-    private static <T> void mergeTo(T[] src, T[] dest, int size, Comparator<? super T> c) {
-        int length = src.length;
+    private static <T> void mergeTo(T[] src, T[] dest, int size, int length, Comparator<? super T> c) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -294,8 +514,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(int[] src, int[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(int[] src, int[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -312,8 +531,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(short[] src, short[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(short[] src, short[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -330,8 +548,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(long[] src, long[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(long[] src, long[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -348,8 +565,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(double[] src, double[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(double[] src, double[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -366,8 +582,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(float[] src, float[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(float[] src, float[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -384,8 +599,7 @@ public class MergeBU {
         }
     }
 
-    private static void mergeTo(char[] src, char[] dest, int size) {
-        int length = src.length;
+    private static void mergeTo(char[] src, char[] dest, int size, int length) {
         int lo;
         int twiceSize = size * 2;
         for (lo = 0; lo < length - size; lo += twiceSize) {
@@ -401,4 +615,2715 @@ public class MergeBU {
             System.arraycopy(src, lo, dest, lo, length - lo);
         }
     }
+
+    private static <T> void sortNatural(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi, c);
+            binaryInsertion(a, lo, hi, lo + runLen, c);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T[] tmp = (T[]) Array.newInstance(a.getClass().getComponentType(), (hi - lo) >>> 1);
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi, c);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen, c);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i, c);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i, c);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static <T> int countRun(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (c.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static <T> void binaryInsertion(T[] a, int lo, int hi, int start, Comparator<? super T> c) {
+        for (; start < hi; start++) {
+            T pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static <T> void mergeAt(T[] a, T[] tmp, Runs runs, int i, Comparator<? super T> c) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0, c);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1, c);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2, c);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2, c);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static <T> int gallopLeft(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (c.compare(key, a[base + hint]) > 0) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static <T> int gallopRight(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (c.compare(key, a[base + hint]) < 0) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static <T> void mergeLo(T[] a, T[] tmp, Runs runs, int base1, int len1, int base2, int len2, Comparator<? super T> c) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (c.compare(a[cursor2], tmp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0, c);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0, c);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static <T> void mergeHi(T[] a, T[] tmp, Runs runs, int base1, int len1, int base2, int len2, Comparator<? super T> c) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (c.compare(tmp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1, c);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1, c);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(int[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        int[] tmp = new int[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(int[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (a[runHi++] < a[lo]) {
+            while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(int[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            int pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(int[] a, int[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(int key, int[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key > a[base + hint]) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > a[base + m]) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(int key, int[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key < a[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < a[base + m]) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(int[] a, int[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(int[] a, int[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(double[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        double[] tmp = new double[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(double[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (Double.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && Double.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && Double.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(double[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            double pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (Double.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(double[] a, double[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(double key, double[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (Double.compare(key, a[base + hint]) > 0) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && Double.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && Double.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (Double.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(double key, double[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (Double.compare(key, a[base + hint]) < 0) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && Double.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && Double.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (Double.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(double[] a, double[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (Double.compare(a[cursor2], tmp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(double[] a, double[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (Double.compare(tmp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(float[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        float[] tmp = new float[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(float[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (Float.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && Float.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && Float.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(float[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            float pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (Float.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(float[] a, float[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(float key, float[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (Float.compare(key, a[base + hint]) > 0) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && Float.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && Float.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (Float.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(float key, float[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (Float.compare(key, a[base + hint]) < 0) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && Float.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && Float.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (Float.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(float[] a, float[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (Float.compare(a[cursor2], tmp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(float[] a, float[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (Float.compare(tmp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(long[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        long[] tmp = new long[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(long[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (a[runHi++] < a[lo]) {
+            while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(long[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            long pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(long[] a, long[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(long key, long[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key > a[base + hint]) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > a[base + m]) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(long key, long[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key < a[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < a[base + m]) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(long[] a, long[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(long[] a, long[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(short[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        short[] tmp = new short[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(short[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (a[runHi++] < a[lo]) {
+            while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(short[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            short pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(short[] a, short[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(short key, short[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key > a[base + hint]) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > a[base + m]) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(short key, short[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key < a[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < a[base + m]) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(short[] a, short[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(short[] a, short[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private static void sortNatural(char[] a, int lo, int hi) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLen = countRun(a, lo, hi);
+            binaryInsertion(a, lo, hi, lo + runLen);
+            return;
+        }
+        char[] tmp = new char[(hi - lo) >>> 1];
+        Runs runs = new Runs();
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRun(a, lo, hi);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertion(a, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            runs.push(lo, runLen);
+            for (int i = runs.nextMerge(); i >= 0; i = runs.nextMerge()) {
+                mergeAt(a, tmp, runs, i);
+            }
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        for (int i = runs.nextForcedMerge(); i >= 0; i = runs.nextForcedMerge()) {
+            mergeAt(a, tmp, runs, i);
+        }
+        assert runs.size == 1;
+    }
+
+    /**
+     * find the run beginning at a[lo], and reverse it if it is strictly descending.
+     *
+     * @return the length of the run
+     */
+    private static int countRun(char[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (a[runHi++] < a[lo]) {
+            while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Util.exch(a, i, j);
+            }
+        } else {
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * sort a[lo, hi) by binary insertion, where a[lo, start) is already sorted.
+     */
+    private static void binaryInsertion(char[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            char pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * merge the ith and the (i + 1)th run on the stack.
+     */
+    private static void mergeAt(char[] a, char[] tmp, Runs runs, int i) {
+        int base1 = runs.base[i];
+        int len1 = runs.len[i];
+        int base2 = runs.base[i + 1];
+        int len2 = runs.len[i + 1];
+        runs.merged(i);
+        // elements of run1 not greater than run2[0] are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 not less than the last of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(a, tmp, runs, base1, len1, base2, len2);
+        } else {
+            mergeHi(a, tmp, runs, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * @return k such that a[base + k - 1] < key <= a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopLeft(char key, char[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key > a[base + hint]) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > a[base + m]) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * @return k such that a[base + k - 1] <= key < a[base + k], searching by
+     * exponential steps from a[base + hint]
+     */
+    private static int gallopRight(char key, char[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (key < a[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < a[base + m]) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the left, where len1 <= len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeLo(char[] a, char[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merge the adjacent runs a[base1, base1 + len1) and a[base2, base2 + len2)
+     * from the right, where len1 > len2, a[base1] > a[base2] and the last of
+     * run1 is greater than all elements of run2.
+     */
+    private static void mergeHi(char[] a, char[] tmp, Runs runs, int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+        int minGallop = runs.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run keeps winning
+            do {
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            // galloping until neither run wins by MIN_GALLOP elements
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        runs.minGallop = Math.max(minGallop, 1);
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("comparison method violates its general contract");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    /**
+     * Computes the minimum run length: n itself if n < MIN_MERGE, otherwise a
+     * number in [MIN_MERGE / 2, MIN_MERGE] such that n / minRun is equal to,
+     * or slightly less than, a power of two.
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * The stack of pending runs of the natural merge sort. The lengths of the
+     * runs satisfy len[i - 2] > len[i - 1] + len[i] and len[i - 1] > len[i],
+     * so that the stack is at most ~log_phi(N) deep and merges stay balanced.
+     */
+    private static class Runs {
+        private final int[] base = new int[STACK_SIZE];
+        private final int[] len = new int[STACK_SIZE];
+        private int size;
+        private int minGallop = MIN_GALLOP;
+
+        private void push(int runBase, int runLen) {
+            base[size] = runBase;
+            len[size] = runLen;
+            size++;
+        }
+
+        /**
+         * @return i such that the ith and (i + 1)th runs must be merged to
+         * restore the invariant, or -1 if it holds
+         */
+        private int nextMerge() {
+            if (size < 2) {
+                return -1;
+            }
+            int n = size - 2;
+            if (n > 0 && len[n - 1] <= len[n] + len[n + 1] || n > 1 && len[n - 2] <= len[n - 1] + len[n]) {
+                return len[n - 1] < len[n + 1] ? n - 1 : n;
+            }
+            return len[n] <= len[n + 1] ? n : -1;
+        }
+
+        /**
+         * @return i such that the ith and (i + 1)th runs are the next to merge
+         * after all runs are found, or -1 if only one run remains
+         */
+        private int nextForcedMerge() {
+            if (size < 2) {
+                return -1;
+            }
+            int n = size - 2;
+            return n > 0 && len[n - 1] < len[n + 1] ? n - 1 : n;
+        }
+
+        /**
+         * record that the ith and (i + 1)th runs have been merged.
+         */
+        private void merged(int i) {
+            len[i] += len[i + 1];
+            if (i == size - 3) {
+                base[i + 1] = base[i + 2];
+                len[i + 1] = len[i + 2];
+            }
+            size--;
+        }
+    }
 }
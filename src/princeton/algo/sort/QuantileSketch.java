@@ -0,0 +1,599 @@
+package princeton.algo.sort;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Mergeable quantile sketches (KLL) of a stream of values, for percentiles of
+ * data that cannot be kept, e.g. latency telemetry.
+ * <p>
+ * A sketch keeps a stack of levels, where each item of level h stands for
+ * {@code 2^h} values. When a level is full it is sorted, and every other item
+ * (from a random offset) is promoted to the next level. The capacity of a
+ * level shrinks by {@code 2/3} below the top one, so memory is bounded by about
+ * {@code 3k} items plus a few per level, independent of the stream length.
+ * The rank error of a quantile is about {@code 1.7 / k} of the count with
+ * high probability ({@code k = 200} by default, for about 1%).
+ * </p>
+ * <p>
+ * Sketches are not thread safe, but those built on different threads can be
+ * combined by {@code merge}. Use {@link Select} for exact quantiles of data
+ * held in an array.
+ * </p>
+ */
+public final class QuantileSketch {
+
+    private static final int DEFAULT_K = 200;
+
+    private QuantileSketch() {}
+
+    /**
+     * A sketch of {@code double} values. NaN is ignored.
+     */
+    public static final class OfDouble {
+        private final int k;
+        private final RandomSource random;
+        // levels[h] holds sizes[h] items, each standing for 2^h added values
+        private double[][] levels;
+        private int[] sizes;
+        private int height;
+        private int retained;
+        private int maxRetained;
+        private long count;
+        private double min;
+        private double max;
+
+        /**
+         * Create a sketch with the default accuracy.
+         */
+        public OfDouble() {
+            this(DEFAULT_K);
+        }
+
+        /**
+         * Create a sketch whose rank error is about {@code 1.7 / k}.
+         *
+         * @param k the size of the largest level
+         * @throws IllegalArgumentException if k is less than {@code 8}
+         */
+        public OfDouble(int k) {
+            this(k, RandomSource.current());
+        }
+
+        /**
+         * Create a sketch whose rank error is about {@code 1.7 / k}, which
+         * draws its compactions from random.
+         *
+         * @param k      the size of the largest level
+         * @param random the source of randomness, for example a seeded one to
+         *               reproduce the sketch
+         * @throws IllegalArgumentException if k is less than {@code 8}
+         */
+        public OfDouble(int k, RandomSource random) {
+            checkK(k);
+            this.k = k;
+            this.random = random;
+            levels = new double[1][];
+            levels[0] = new double[capacity(k, 0, 1)];
+            sizes = new int[1];
+            height = 1;
+            maxRetained = maxRetained(k, height);
+        }
+
+        /**
+         * @param item the value to be added
+         */
+        public void add(double item) {
+            if (Double.isNaN(item)) {
+                return;
+            }
+            if (count == 0 || item < min) {
+                min = item;
+            }
+            if (count == 0 || item > max) {
+                max = item;
+            }
+            count++;
+            append(0, item);
+            if (++retained >= maxRetained) {
+                compress();
+            }
+        }
+
+        /**
+         * Add all values of another sketch, which is left unchanged. Sketches
+         * built on different threads can be merged when they are done. A
+         * sketch merged with itself counts each of its values twice.
+         *
+         * @param other the other sketch
+         * @throws IllegalArgumentException if other is null
+         */
+        public void merge(OfDouble other) {
+            if (other == null) {
+                throw new IllegalArgumentException("null sketch");
+            }
+            if (other.count == 0) {
+                return;
+            }
+            if (count == 0 || other.min < min) {
+                min = other.min;
+            }
+            if (count == 0 || other.max > max) {
+                max = other.max;
+            }
+            count += other.count;
+            while (height < other.height) {
+                grow();
+            }
+            // other may be this sketch, whose levels grow while appending
+            for (int h = 0; h < other.height; h++) {
+                int size = other.sizes[h];
+                for (int i = 0; i < size; i++) {
+                    append(h, other.levels[h][i]);
+                }
+                retained += size;
+            }
+            compress();
+        }
+
+        /**
+         * Estimate the value of quantile q, which is exact when no compaction has
+         * happened yet, e.g. {@code quantile(0.5)} estimates
+         * {@code Quick.select(a, (int) (0.5 * (a.length - 1)))}.
+         *
+         * @param q the quantile, in {@code [0, 1]}
+         * @return the estimated value
+         * @throws IllegalArgumentException if q is not in {@code [0, 1]}
+         * @throws NoSuchElementException   if the sketch is empty
+         */
+        public double quantile(double q) {
+            return quantiles(q)[0];
+        }
+
+        /**
+         * Estimate several quantiles at once, see {@link #quantile(double)}.
+         *
+         * @param qs the quantiles, each in {@code [0, 1]}
+         * @return the estimated values, in the order of {@code qs}
+         * @throws IllegalArgumentException if a quantile is not in {@code [0, 1]}
+         * @throws NoSuchElementException   if the sketch is empty
+         */
+        public double[] quantiles(double... qs) {
+            for (double q : qs) {
+                checkQuantile(q);
+            }
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            double[] items = new double[retained];
+            long[] weights = new long[retained];
+            int n = 0;
+            for (int h = 0; h < height; h++) {
+                for (int i = 0; i < sizes[h]; i++) {
+                    items[n] = levels[h][i];
+                    weights[n++] = 1L << h;
+                }
+            }
+            int[] order = Quick.argsort(items);
+            double[] out = new double[qs.length];
+            for (int j = 0; j < qs.length; j++) {
+                if (qs[j] == 0.0) {
+                    out[j] = min;
+                    continue;
+                }
+                if (qs[j] == 1.0) {
+                    out[j] = max;
+                    continue;
+                }
+                long target = (long) (qs[j] * (count - 1));
+                long cumulative = 0;
+                out[j] = max;
+                for (int i : order) {
+                    cumulative += weights[i];
+                    if (cumulative > target) {
+                        out[j] = items[i];
+                        break;
+                    }
+                }
+            }
+            return out;
+        }
+
+        /**
+         * @param x the value
+         * @return the estimated number of added values not greater than x
+         */
+        public long rank(double x) {
+            long rank = 0;
+            for (int h = 0; h < height; h++) {
+                for (int i = 0; i < sizes[h]; i++) {
+                    if (levels[h][i] <= x) {
+                        rank += 1L << h;
+                    }
+                }
+            }
+            return rank;
+        }
+
+        /**
+         * @return the number of values added
+         */
+        public long count() {
+            return count;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * @return the smallest value added
+         * @throws NoSuchElementException if the sketch is empty
+         */
+        public double min() {
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return min;
+        }
+
+        /**
+         * @return the largest value added
+         * @throws NoSuchElementException if the sketch is empty
+         */
+        public double max() {
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return max;
+        }
+
+        private void append(int h, double item) {
+            if (sizes[h] == levels[h].length) {
+                levels[h] = Arrays.copyOf(levels[h], Math.max(2, 2 * sizes[h]));
+            }
+            levels[h][sizes[h]++] = item;
+        }
+
+        private void grow() {
+            levels = Arrays.copyOf(levels, height + 1);
+            sizes = Arrays.copyOf(sizes, height + 1);
+            levels[height] = new double[2];
+            height++;
+            maxRetained = maxRetained(k, height);
+        }
+
+        /**
+         * compact the lowest full levels until the sketch fits its bound
+         */
+        private void compress() {
+            while (retained >= maxRetained) {
+                int h = 0;
+                while (sizes[h] < capacity(k, h, height)) {
+                    h++;
+                }
+                if (h + 1 == height) {
+                    grow();
+                }
+                compact(h);
+            }
+        }
+
+        /**
+         * sort level h and promote every other item to level h + 1, starting
+         * at a random offset. An odd item out stays at level h.
+         */
+        private void compact(int h) {
+            int size = sizes[h];
+            double[] items = Arrays.copyOf(levels[h], size);
+            Quick.introSort(items);
+            int keep = size & 1;
+            int start = keep + random.nextInt(2);
+            for (int i = start; i < size; i += 2) {
+                append(h + 1, items[i]);
+            }
+            if (keep == 1) {
+                levels[h][0] = items[0];
+            }
+            sizes[h] = keep;
+            retained -= size - keep - (size - keep) / 2;
+        }
+    }
+
+    /**
+     * A sketch of {@code long} values, e.g. latencies in nanoseconds.
+     */
+    public static final class OfLong {
+        private final int k;
+        private final RandomSource random;
+        // levels[h] holds sizes[h] items, each standing for 2^h added values
+        private long[][] levels;
+        private int[] sizes;
+        private int height;
+        private int retained;
+        private int maxRetained;
+        private long count;
+        private long min;
+        private long max;
+
+        /**
+         * Create a sketch with the default accuracy.
+         */
+        public OfLong() {
+            this(DEFAULT_K);
+        }
+
+        /**
+         * Create a sketch whose rank error is about {@code 1.7 / k}.
+         *
+         * @param k the size of the largest level
+         * @throws IllegalArgumentException if k is less than {@code 8}
+         */
+        public OfLong(int k) {
+            this(k, RandomSource.current());
+        }
+
+        /**
+         * Create a sketch whose rank error is about {@code 1.7 / k}, which
+         * draws its compactions from random.
+         *
+         * @param k      the size of the largest level
+         * @param random the source of randomness, for example a seeded one to
+         *               reproduce the sketch
+         * @throws IllegalArgumentException if k is less than {@code 8}
+         */
+        public OfLong(int k, RandomSource random) {
+            checkK(k);
+            this.k = k;
+            this.random = random;
+            levels = new long[1][];
+            levels[0] = new long[capacity(k, 0, 1)];
+            sizes = new int[1];
+            height = 1;
+            maxRetained = maxRetained(k, height);
+        }
+
+        /**
+         * @param item the value to be added
+         */
+        public void add(long item) {
+            if (count == 0 || item < min) {
+                min = item;
+            }
+            if (count == 0 || item > max) {
+                max = item;
+            }
+            count++;
+            append(0, item);
+            if (++retained >= maxRetained) {
+                compress();
+            }
+        }
+
+        /**
+         * Add all values of another sketch, which is left unchanged. Sketches
+         * built on different threads can be merged when they are done. A
+         * sketch merged with itself counts each of its values twice.
+         *
+         * @param other the other sketch
+         * @throws IllegalArgumentException if other is null
+         */
+        public void merge(OfLong other) {
+            if (other == null) {
+                throw new IllegalArgumentException("null sketch");
+            }
+            if (other.count == 0) {
+                return;
+            }
+            if (count == 0 || other.min < min) {
+                min = other.min;
+            }
+            if (count == 0 || other.max > max) {
+                max = other.max;
+            }
+            count += other.count;
+            while (height < other.height) {
+                grow();
+            }
+            // other may be this sketch, whose levels grow while appending
+            for (int h = 0; h < other.height; h++) {
+                int size = other.sizes[h];
+                for (int i = 0; i < size; i++) {
+                    append(h, other.levels[h][i]);
+                }
+                retained += size;
+            }
+            compress();
+        }
+
+        /**
+         * Estimate the value of quantile q, which is exact when no compaction has
+         * happened yet, e.g. {@code quantile(0.5)} estimates
+         * {@code Quick.select(a, (int) (0.5 * (a.length - 1)))}.
+         *
+         * @param q the quantile, in {@code [0, 1]}
+         * @return the estimated value
+         * @throws IllegalArgumentException if q is not in {@code [0, 1]}
+         * @throws NoSuchElementException   if the sketch is empty
+         */
+        public long quantile(double q) {
+            return quantiles(q)[0];
+        }
+
+        /**
+         * Estimate several quantiles at once, see {@link #quantile(double)}.
+         *
+         * @param qs the quantiles, each in {@code [0, 1]}
+         * @return the estimated values, in the order of {@code qs}
+         * @throws IllegalArgumentException if a quantile is not in {@code [0, 1]}
+         * @throws NoSuchElementException   if the sketch is empty
+         */
+        public long[] quantiles(double... qs) {
+            for (double q : qs) {
+                checkQuantile(q);
+            }
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            long[] items = new long[retained];
+            long[] weights = new long[retained];
+            int n = 0;
+            for (int h = 0; h < height; h++) {
+                for (int i = 0; i < sizes[h]; i++) {
+                    items[n] = levels[h][i];
+                    weights[n++] = 1L << h;
+                }
+            }
+            int[] order = Quick.argsort(items);
+            long[] out = new long[qs.length];
+            for (int j = 0; j < qs.length; j++) {
+                if (qs[j] == 0.0) {
+                    out[j] = min;
+                    continue;
+                }
+                if (qs[j] == 1.0) {
+                    out[j] = max;
+                    continue;
+                }
+                long target = (long) (qs[j] * (count - 1));
+                long cumulative = 0;
+                out[j] = max;
+                for (int i : order) {
+                    cumulative += weights[i];
+                    if (cumulative > target) {
+                        out[j] = items[i];
+                        break;
+                    }
+                }
+            }
+            return out;
+        }
+
+        /**
+         * @param x the value
+         * @return the estimated number of added values not greater than x
+         */
+        public long rank(long x) {
+            long rank = 0;
+            for (int h = 0; h < height; h++) {
+                for (int i = 0; i < sizes[h]; i++) {
+                    if (levels[h][i] <= x) {
+                        rank += 1L << h;
+                    }
+                }
+            }
+            return rank;
+        }
+
+        /**
+         * @return the number of values added
+         */
+        public long count() {
+            return count;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * @return the smallest value added
+         * @throws NoSuchElementException if the sketch is empty
+         */
+        public long min() {
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return min;
+        }
+
+        /**
+         * @return the largest value added
+         * @throws NoSuchElementException if the sketch is empty
+         */
+        public long max() {
+            if (count == 0) {
+                throw new NoSuchElementException("underflow!");
+            }
+            return max;
+        }
+
+        private void append(int h, long item) {
+            if (sizes[h] == levels[h].length) {
+                levels[h] = Arrays.copyOf(levels[h], Math.max(2, 2 * sizes[h]));
+            }
+            levels[h][sizes[h]++] = item;
+        }
+
+        private void grow() {
+            levels = Arrays.copyOf(levels, height + 1);
+            sizes = Arrays.copyOf(sizes, height + 1);
+            levels[height] = new long[2];
+            height++;
+            maxRetained = maxRetained(k, height);
+        }
+
+        /**
+         * compact the lowest full levels until the sketch fits its bound
+         */
+        private void compress() {
+            while (retained >= maxRetained) {
+                int h = 0;
+                while (sizes[h] < capacity(k, h, height)) {
+                    h++;
+                }
+                if (h + 1 == height) {
+                    grow();
+                }
+                compact(h);
+            }
+        }
+
+        /**
+         * sort level h and promote every other item to level h + 1, starting
+         * at a random offset. An odd item out stays at level h.
+         */
+        private void compact(int h) {
+            int size = sizes[h];
+            long[] items = Arrays.copyOf(levels[h], size);
+            Quick.introSort(items);
+            int keep = size & 1;
+            int start = keep + random.nextInt(2);
+            for (int i = start; i < size; i += 2) {
+                append(h + 1, items[i]);
+            }
+            if (keep == 1) {
+                levels[h][0] = items[0];
+            }
+            sizes[h] = keep;
+            retained -= size - keep - (size - keep) / 2;
+        }
+    }
+
+    /**
+     * the capacity of level h among height levels
+     */
+    private static int capacity(int k, int h, int height) {
+        return Math.max(2, (int) Math.ceil(k * Math.pow(2.0 / 3.0, height - h - 1)));
+    }
+
+    private static int maxRetained(int k, int height) {
+        int total = 0;
+        for (int h = 0; h < height; h++) {
+            total += capacity(k, h, height);
+        }
+        return total;
+    }
+
+    private static void checkK(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k too small");
+        }
+    }
+
+    private static void checkQuantile(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException("quantile out of range");
+        }
+    }
+}
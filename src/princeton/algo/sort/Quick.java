@@ -1,27 +1,65 @@
 package princeton.algo.sort;
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import princeton.algo.binaryHeap.Heap;
 
 /**
  * A two-pivot quick sort implementation. Always shuffle before sorting. The
  * shuffling cost guarantees quick sort performance. Use insertion for length
- * shorter than {@code CUTOFF = 10}. This gives better adaptivity and reduces
- * overhead. The quick sort uses median of 3 as key.
+ * shorter than {@code CUTOFF = 10} (sorting networks of {@code SmallSort} for
+ * primitive arrays). This gives better adaptivity and reduces overhead. The
+ * quick sort uses median of 3 as key.
  * <p>
- * The Quick class also include the quick select algorithm, which find the nth
+ * The Quick class also include the select algorithm, which find the nth
  * (start from {@code 0} and ends at {@code length - 1}) smallest element of an
- * array in linear time.
+ * array in linear time. It is delegated to the Floyd-Rivest selection of
+ * {@link Select}.
  * </p>
  * <p>
  * It also includes a select algorithm which finds the nth (start from {@code 0}
  * and ends at {@code length - 1}) smallest element from two
  * <em><b>sorted</b></em> arrays in linear time.
  * </p>
+ * <p>
+ * The {@code parallelSort} methods do not shuffle. They choose the pivot by
+ * Tukey's ninther as {@code introSort} does, and fork the two sub-ranges of
+ * each partition as tasks until a sub-range is no longer than the sequential
+ * cutoff, which is then introsorted. While a range has at least two threads
+ * of the {@code ForkJoinPool} to itself, it is partitioned in parallel and in
+ * place, by splitting it twice (less than the key, then equal to it): the
+ * blocks are split concurrently, then the items on the wrong side of the
+ * boundary are swapped concurrently. No extra array is allocated.
+ * </p>
+ * <p>
+ * The {@code introSort} methods do not shuffle. They choose the pivot by
+ * Tukey's ninther, return early on sorted sub-arrays (reversing strictly
+ * descending ones first), and switch to heap sort when the recursion is
+ * deeper than {@code 2 log N}, which guarantees O(N log N) in the worst case.
+ * They also sort {@code LongBuffer} and {@code DoubleBuffer} in place, e.g.
+ * direct or memory-mapped ones, without copying them to the Java heap.
+ * </p>
+ * <p>
+ * The {@code argsort} methods return the sorted order as a permutation of
+ * indices and leave the array unchanged. Only the index array is shuffled.
+ * </p>
+ * <p>
+ * The {@code partialSort} methods only sort the k smallest elements into
+ * {@code a[0, k)}: after each partition, the part beyond k is dropped, as in
+ * quick select.
+ * </p>
  */
 public class Quick {
 
     private static final int CUTOFF = 10;
 
+    private static final int PARALLEL_CUTOFF = 1 << 13;
+
     /**
      * quick sort the {@code Comparable} array
      *
@@ -102,161 +140,587 @@ public class Quick {
         sort(a, 0, a.length);
     }
 
+    /**
+     * quick sort the {@code int} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code int} array
+     */
+    public static void parallelSort(int[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code int} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code int} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(int[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new IntSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * quick sort the {@code float} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code float} array
+     */
+    public static void parallelSort(float[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code float} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code float} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(float[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new FloatSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * quick sort the {@code char} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code char} array
+     */
+    public static void parallelSort(char[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code char} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code char} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(char[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new CharSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * quick sort the {@code long} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code long} array
+     */
+    public static void parallelSort(long[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code long} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code long} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(long[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new LongSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * quick sort the {@code short} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code short} array
+     */
+    public static void parallelSort(short[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code short} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code short} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(short[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new ShortSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * quick sort the {@code double} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the {@code double} array
+     */
+    public static void parallelSort(double[] a) {
+        parallelSort(a, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * quick sort the {@code double} array in parallel using the common
+     * {@code ForkJoinPool}. Sub-arrays no longer than {@code cutoff} are
+     * sorted sequentially.
+     *
+     * @param a      the {@code double} array
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelSort(double[] a, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new DoubleSortTask(a, 0, a.length, depthLimit(a.length), cutoff));
+    }
+
+    /**
+     * introsort the {@code Comparable} array. Worst case O(N log N), without
+     * shuffling.
+     *
+     * @param a the {@code Comparable} array
+     */
+    public static <T extends Comparable<? super T>> void introSort(T[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the array with a comparator. Worst case O(N log N), without
+     * shuffling.
+     *
+     * @param a the array to be sorted
+     * @param c the comparator of type T
+     */
+    public static <T> void introSort(T[] a, Comparator<? super T> c) {
+        introSort(a, 0, a.length, depthLimit(a.length), c);
+    }
+
+    /**
+     * introsort the {@code int} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code int} array
+     */
+    public static void introSort(int[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the {@code float} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code float} array
+     */
+    public static void introSort(float[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the {@code char} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code char} array
+     */
+    public static void introSort(char[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the {@code long} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code long} array
+     */
+    public static void introSort(long[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the {@code short} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code short} array
+     */
+    public static void introSort(short[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the {@code double} array. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code double} array
+     */
+    public static void introSort(double[] a) {
+        introSort(a, 0, a.length, depthLimit(a.length));
+    }
+
+    /**
+     * introsort the elements of a {@code long} buffer from its position to its
+     * limit, in place. The buffer may be direct or memory-mapped; nothing is
+     * copied to the Java heap. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code long} buffer
+     */
+    public static void introSort(LongBuffer a) {
+        introSort(a, a.position(), a.limit(), depthLimit(a.remaining()));
+    }
+
+    /**
+     * introsort the elements of a {@code double} buffer from its position to its
+     * limit, in place. The buffer may be direct or memory-mapped; nothing is
+     * copied to the Java heap. Worst case O(N log N), without shuffling.
+     *
+     * @param a the {@code double} buffer
+     */
+    public static void introSort(DoubleBuffer a) {
+        introSort(a, a.position(), a.limit(), depthLimit(a.remaining()));
+    }
+
+    /**
+     * Indirect quick sort {@code int} array. The array is not changed.
+     *
+     * @param a the {@code int} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(int[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Indirect quick sort {@code short} array. The array is not changed.
+     *
+     * @param a the {@code short} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(short[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Indirect quick sort {@code long} array. The array is not changed.
+     *
+     * @param a the {@code long} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(long[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Indirect quick sort {@code float} array. The array is not changed.
+     *
+     * @param a the {@code float} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(float[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Indirect quick sort {@code double} array. The array is not changed.
+     *
+     * @param a the {@code double} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(double[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Indirect quick sort {@code char} array. The array is not changed.
+     *
+     * @param a the {@code char} array
+     * @return the permutation {@code p} such that {@code a[p[0]], a[p[1]], ...}
+     * is sorted
+     */
+    public static int[] argsort(char[] a) {
+        int[] index = new int[a.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        Shuffle.shuffle(index);
+        argsort(a, index, 0, a.length);
+        return index;
+    }
+
+    /**
+     * Partially sort an array, so that {@code a[0, k)} holds the k smallest
+     * elements in order. The order of the rest is unspecified. It takes linear
+     * time plus ~k log k on average.
+     *
+     * @param a   the array
+     * @param k   the number of smallest elements to be sorted
+     * @param <T> a mutually comparable type
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static <T extends Comparable<? super T>> void partialSort(T[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort an array, so that {@code a[0, k)} holds the k smallest
+     * elements in order. The order of the rest is unspecified.
+     *
+     * @param a   the array
+     * @param k   the number of smallest elements to be sorted
+     * @param c   the comparator of the array component type
+     * @param <T> the type of which the comparator compares
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static <T> void partialSort(T[] a, int k, Comparator<? super T> c) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k, c);
+        }
+    }
+
+    /**
+     * Partially sort {@code int} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code int} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(int[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort {@code float} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code float} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(float[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort {@code char} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code char} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(char[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort {@code long} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code long} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(long[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort {@code short} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code short} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(short[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
+    /**
+     * Partially sort {@code double} array, so that {@code a[0, k)} holds the k
+     * smallest elements in order.
+     *
+     * @param a the {@code double} array
+     * @param k the number of smallest elements to be sorted
+     * @throws IllegalArgumentException unless {@code 0 <= k <= a.length}
+     */
+    public static void partialSort(double[] a, int k) {
+        checkPartial(a.length, k);
+        Shuffle.shuffle(a);
+        if (k > 0) {
+            partialSort(a, 0, a.length, k);
+        }
+    }
+
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from {@code 0} and end at
      *          {@code a.length - 1})
      */
     public static <T extends Comparable<? super T>> T select(T[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static <T> T select(T[] a, int n, Comparator<? super T> c) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n, c);
+        return Select.select(a, n, c);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static int select(int[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static float select(float[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static char select(char[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static long select(long[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static short select(short[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
+        return Select.select(a, n);
     }
 
     /**
      * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
-     * element of an array in linear time on average.
+     * element of an array in linear time. See {@link Select}.
      *
      * @param a the input array.
      * @param n the n th smallest to be found (starting from 0 and end at
      *          {@code a.length - 1})
      */
     public static double select(double[] a, int n) {
-        if (n >= a.length || n < 0) {
-            throw new IllegalArgumentException("out of range");
-        }
-        Shuffle.shuffle(a);
-        return select(a, 0, a.length, n);
-    }
-
-    private static <T extends Comparable<? super T>> T select(T[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
-        }
-        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        while (mid < hi) {
-            int cmp = key.compareTo(a[mid]);
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
-        } else {
-            return select(a, hi, hiMem, n);
-        }
+        return Select.select(a, n);
     }
 
     private static <T extends Comparable<? super T>> T medianOf3(T a1, T a2, T a3) {
@@ -279,35 +743,6 @@ public class Quick {
         return a3;
     }
 
-    private static <T> T select(T[] a, int lo, int hi, int n, Comparator<? super T> c) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
-        }
-        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1], c);
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        while (mid < hi) {
-            int cmp = c.compare(key, a[mid]);
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n, c);
-        } else {
-            return select(a, hi, hiMem, n, c);
-        }
-    }
-
     private static <T> T medianOf3(T a1, T a2, T a3, Comparator<? super T> c) {
         if (Util.less(a2, a1, c)) {
             if (Util.less(a3, a2, c)) {
@@ -328,204 +763,161 @@ public class Quick {
         return a3;
     }
 
-    private static int select(int[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
+    private static void sort(int[] a, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            SmallSort.sort(a, lo, hi);
+            return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
         int key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            int cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
+    }
+
+    private static int medianOf3(int a1, int a2, int a3) {
+        if (a1 > a2) {
+            if (a2 > a3) {
+                return a2;
             }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
+            return Math.min(a3, a1);
         } else {
-            return select(a, hi, hiMem, n);
+            if (a3 > a2) {
+                return a2;
+            }
+            return Math.max(a3, a1);
         }
     }
 
-    private static float select(float[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
+    private static void sort(float[] a, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            SmallSort.sort(a, lo, hi);
+            return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
         float key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            float cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
+    }
+
+    private static float medianOf3(float a1, float a2, float a3) {
+        if (a1 > a2) {
+            if (a2 > a3) {
+                return a2;
             }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
+            return Math.min(a3, a1);
         } else {
-            return select(a, hi, hiMem, n);
+            if (a3 > a2) {
+                return a2;
+            }
+            return Math.max(a3, a1);
         }
     }
 
-    private static char select(char[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
+    private static void sort(char[] a, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            SmallSort.sort(a, lo, hi);
+            return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        int key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            int cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
+        char key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
+    }
+
+    private static char medianOf3(char a1, char a2, char a3) {
+        if (a1 > a2) {
+            if (a2 > a3) {
+                return a2;
             }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
+            if (a3 > a1) {
+                return a1;
+            }
+            return a3;
         } else {
-            return select(a, hi, hiMem, n);
+            if (a3 > a2) {
+                return a2;
+            }
+            if (a1 > a3) {
+                return a1;
+            }
         }
+        return a3;
     }
 
-    private static long select(long[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
+    private static void sort(long[] a, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            SmallSort.sort(a, lo, hi);
+            return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
         long key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            long cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
+    }
+
+    private static long medianOf3(long a1, long a2, long a3) {
+        if (a1 > a2) {
+            if (a2 > a3) {
+                return a2;
             }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
+            return Math.min(a3, a1);
         } else {
-            return select(a, hi, hiMem, n);
+            if (a3 > a2) {
+                return a2;
+            }
+            return Math.max(a3, a1);
         }
     }
 
-    private static short select(short[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
+    private static void sort(short[] a, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            SmallSort.sort(a, lo, hi);
+            return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
         short key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            int cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
-        } else {
-            return select(a, hi, hiMem, n);
-        }
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
     }
 
-    private static double select(double[] a, int lo, int hi, int n) {
-        assert lo <= n;
-        assert n < hi;
-        if (lo + 1 >= hi) {
-            return a[lo];
-        }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        double key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            double cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
+    private static short medianOf3(short a1, short a2, short a3) {
+        if (a1 > a2) {
+            if (a2 > a3) {
+                return a2;
             }
-        }
-        if (lo <= n && n < hi) {
-            return a[n];
-        } else if (n < lo) {
-            return select(a, loMem, lo, n);
+            if (a3 > a1) {
+                return a1;
+            }
+            return a3;
         } else {
-            return select(a, hi, hiMem, n);
+            if (a3 > a2) {
+                return a2;
+            }
+            if (a1 > a3) {
+                return a1;
+            }
         }
+        return a3;
     }
 
-    private static void sort(int[] a, int lo, int hi) {
+    private static void sort(double[] a, int lo, int hi) {
         if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
+            SmallSort.sort(a, lo, hi);
             return;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        int key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            int cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
-        }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
+        double key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+        int lt = partition(a, lo, hi, key);
+        int gt = skipEqual(a, lt, hi, key);
+        sort(a, lo, lt);
+        sort(a, gt, hi);
     }
 
-    private static int medianOf3(int a1, int a2, int a3) {
+    private static double medianOf3(double a1, double a2, double a3) {
         if (a1 > a2) {
             if (a2 > a3) {
                 return a2;
@@ -539,17 +931,17 @@ public class Quick {
         }
     }
 
-    private static void sort(float[] a, int lo, int hi) {
+    private static <T extends Comparable<? super T>> void sort(T[] a, int lo, int hi) {
         if (lo + CUTOFF >= hi) {
             Insertion.sort(a, lo, hi);
             return;
         }
+        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
         int loMem = lo;
         int hiMem = hi;
         int mid = lo;
-        float key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
         while (mid < hi) {
-            float cmp = key - a[mid];
+            int cmp = key.compareTo(a[mid]);
             if (cmp > 0) {
                 Util.exch(a, lo++, mid++);
             } else if (cmp < 0) {
@@ -560,33 +952,21 @@ public class Quick {
         }
         sort(a, loMem, lo);
         sort(a, hi, hiMem);
+        assert Util.isSorted(a, loMem, lo);
+        assert Util.isSorted(a, hi, hiMem);
     }
 
-    private static float medianOf3(float a1, float a2, float a3) {
-        if (a1 > a2) {
-            if (a2 > a3) {
-                return a2;
-            }
-            return Math.min(a3, a1);
-        } else {
-            if (a3 > a2) {
-                return a2;
-            }
-            return Math.max(a3, a1);
-        }
-    }
-
-    private static void sort(char[] a, int lo, int hi) {
+    private static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> c) {
         if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
+            Insertion.sort(a, lo, hi, c);
             return;
         }
+        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1], c);
         int loMem = lo;
         int hiMem = hi;
         int mid = lo;
-        char key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
         while (mid < hi) {
-            int cmp = key - a[mid];
+            int cmp = c.compare(key, a[mid]);
             if (cmp > 0) {
                 Util.exch(a, lo++, mid++);
             } else if (cmp < 0) {
@@ -595,195 +975,1626 @@ public class Quick {
                 mid++;
             }
         }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
+        sort(a, loMem, lo, c);
+        sort(a, hi, hiMem, c);
+        assert Util.isSorted(a, loMem, lo, c);
+        assert Util.isSorted(a, hi, hiMem, c);
     }
 
-    private static char medianOf3(char a1, char a2, char a3) {
-        if (a1 > a2) {
-            if (a2 > a3) {
-                return a2;
+    private static void argsort(int[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
             }
-            if (a3 > a1) {
-                return a1;
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        int key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            int k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
             }
-            return a3;
-        } else {
-            if (a3 > a2) {
-                return a2;
+        }
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    private static void argsort(short[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
             }
-            if (a1 > a3) {
-                return a1;
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        short key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            short k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
             }
         }
-        return a3;
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    private static void argsort(long[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
+            }
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        long key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            long k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
+            }
+        }
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    private static void argsort(float[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
+            }
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        float key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            float k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
+            }
+        }
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    private static void argsort(double[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
+            }
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        double key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            double k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
+            }
+        }
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    private static void argsort(char[] keys, int[] index, int lo, int hi) {
+        if (lo + CUTOFF >= hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int item = index[i];
+                int j = i;
+                for (; j > lo && keys[item] < keys[index[j - 1]]; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
+            }
+            return;
+        }
+        int loMem = lo;
+        int hiMem = hi;
+        int mid = lo;
+        char key = medianOf3(keys[index[lo]], keys[index[hi - 1]], keys[index[(lo + hi - 1) >>> 1]]);
+        while (mid < hi) {
+            char k = keys[index[mid]];
+            if (k < key) {
+                Util.exch(index, lo++, mid++);
+            } else if (k > key) {
+                Util.exch(index, --hi, mid);
+            } else {
+                mid++;
+            }
+        }
+        argsort(keys, index, loMem, lo);
+        argsort(keys, index, hi, hiMem);
+    }
+
+    /**
+     * sort a[lo, hi) far enough that a[lo, k) holds its smallest elements in
+     * order, where lo < k.
+     */
+    private static <T extends Comparable<? super T>> void partialSort(T[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid].compareTo(key) < 0) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key.compareTo(a[mid]) < 0) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            Insertion.sort(a, lo, hi);
+        }
+    }
+
+    private static <T> void partialSort(T[] a, int lo, int hi, int k, Comparator<? super T> c) {
+        while (lo + CUTOFF < hi) {
+            T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1], c);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (c.compare(a[mid], key) < 0) {
+                    Util.exch(a, lo++, mid++);
+                } else if (c.compare(key, a[mid]) < 0) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k, c);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            Insertion.sort(a, lo, hi, c);
+        }
+    }
+
+    private static void partialSort(int[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            int key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void partialSort(float[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            float key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void partialSort(char[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            char key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void partialSort(long[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            long key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void partialSort(short[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            short key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void partialSort(double[] a, int lo, int hi, int k) {
+        while (lo + CUTOFF < hi) {
+            double key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
+            int loMem = lo;
+            int mid = lo;
+            int gt = hi;
+            while (mid < gt) {
+                if (a[mid] < key) {
+                    Util.exch(a, lo++, mid++);
+                } else if (key < a[mid]) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            partialSort(a, loMem, lo, k);
+            if (gt >= k) {
+                return;
+            }
+            lo = gt;
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static void checkPartial(int length, int k) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("out of range");
+        }
+    }
+
+    private static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    private static void introSort(int[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            int key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(int[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static int ninther(int[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        int m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        int m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        int m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(int[] a, int lo, int hi, int key) {
+        int lt = lo;
+        int gt = hi;
+        int mid = lo;
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        return lt;
+    }
+
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(int[] a, int i, int hi, int key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(int[] a, int lo, int hi, int key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
+            }
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
+            }
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
+        }
+    }
+
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(int[] a, int lo, int hi, int key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(float[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            float key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(float[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static float ninther(float[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        float m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        float m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        float m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(float[] a, int lo, int hi, float key) {
+        int lt = lo;
+        int gt = hi;
+        int mid = lo;
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        return lt;
+    }
+
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(float[] a, int i, int hi, float key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(float[] a, int lo, int hi, float key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
+            }
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
+            }
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
+        }
+    }
+
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(float[] a, int lo, int hi, float key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(char[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            char key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(char[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static char ninther(char[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        char m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        char m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        char m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(char[] a, int lo, int hi, char key) {
+        int lt = lo;
+        int gt = hi;
+        int mid = lo;
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        return lt;
+    }
+
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(char[] a, int i, int hi, char key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(char[] a, int lo, int hi, char key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
+            }
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
+            }
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
+        }
+    }
+
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(char[] a, int lo, int hi, char key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(long[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            long key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(long[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static long ninther(long[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        long m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        long m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        long m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(long[] a, int lo, int hi, long key) {
+        int lt = lo;
+        int gt = hi;
+        int mid = lo;
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        return lt;
+    }
+
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(long[] a, int i, int hi, long key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(long[] a, int lo, int hi, long key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
+            }
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
+            }
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
+        }
+    }
+
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(long[] a, int lo, int hi, long key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(short[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            short key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(short[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static short ninther(short[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        short m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        short m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        short m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(short[] a, int lo, int hi, short key) {
+        int lt = lo;
+        int gt = hi;
+        int mid = lo;
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        return lt;
+    }
+
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(short[] a, int i, int hi, short key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(short[] a, int lo, int hi, short key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
+            }
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
+            }
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
+        }
+    }
+
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(short[] a, int lo, int hi, short key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(double[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            double key = ninther(a, lo, hi);
+            int lt = partition(a, lo, hi, key);
+            int gt = skipEqual(a, lt, hi, key);
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        if (hi - lo > 1) {
+            SmallSort.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean presorted(double[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a[i] < a[i - 1])) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a[i] < a[i - 1]) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static double ninther(double[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        double m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        double m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        double m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
     }
 
-    private static void sort(long[] a, int lo, int hi) {
-        if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
-            return;
-        }
-        int loMem = lo;
-        int hiMem = hi;
+    /**
+     * 3-way partition a[lo, hi) around key
+     *
+     * @return lt, such that a[lo, lt) is less than key, and a[lt, gt) is equal
+     * to key and a[gt, hi) greater, where gt is given by {@code skipEqual}
+     */
+    private static int partition(double[] a, int lo, int hi, double key) {
+        int lt = lo;
+        int gt = hi;
         int mid = lo;
-        long key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            long cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
+        while (mid < gt) {
+            if (a[mid] < key) {
+                Util.exch(a, lt++, mid++);
+            } else if (key < a[mid]) {
+                Util.exch(a, --gt, mid);
             } else {
                 mid++;
             }
         }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
+        return lt;
     }
 
-    private static long medianOf3(long a1, long a2, long a3) {
-        if (a1 > a2) {
-            if (a2 > a3) {
-                return a2;
+    /**
+     * @return the end of the items equal to key from i on, in a partitioned
+     * range
+     */
+    private static int skipEqual(double[] a, int i, int hi, double key) {
+        while (i < hi && !(key < a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * move the items less than key, or not greater than key unless strict, to
+     * the front of a[lo, hi)
+     *
+     * @return the end of the moved items
+     */
+    private static int split(double[] a, int lo, int hi, double key, boolean strict) {
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (i < j && (strict ? a[i] < key : !(key < a[i]))) {
+                i++;
             }
-            return Math.min(a3, a1);
-        } else {
-            if (a3 > a2) {
-                return a2;
+            while (i < j && !(strict ? a[j - 1] < key : !(key < a[j - 1]))) {
+                j--;
             }
-            return Math.max(a3, a1);
+            if (i == j) {
+                return i;
+            }
+            Util.exch(a, i++, --j);
         }
     }
 
-    private static void sort(short[] a, int lo, int hi) {
-        if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
-            return;
+    /**
+     * split a[lo, hi) as {@code split} does, with the blocks split
+     * concurrently and the items on the wrong side of the boundary then
+     * swapped concurrently, in place
+     *
+     * @return the end of the moved items
+     */
+    private static int parallelSplit(double[] a, int lo, int hi, double key, boolean strict, int blocks) {
+        int[] bounds = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int i = b;
+            int from = blockStart(lo, hi, blocks, b);
+            int to = blockStart(lo, hi, blocks, b + 1);
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                bounds[i] = split(a, from, to, key, strict);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int mid = boundary(lo, hi, bounds);
+        int[] swaps = swaps(lo, hi, bounds, mid);
+        tasks = new ForkJoinTask<?>[swaps.length / 3];
+        for (int k = 0; k < tasks.length; k++) {
+            int i = swaps[3 * k];
+            int j = swaps[3 * k + 1];
+            int n = swaps[3 * k + 2];
+            tasks[k] = ForkJoinTask.adapt(() -> {
+                for (int m = 0; m < n; m++) {
+                    Util.exch(a, i + m, j + m);
+                }
+            });
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        short key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            int cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
+        ForkJoinTask.invokeAll(tasks);
+        return mid;
+    }
+
+    private static void introSort(LongBuffer a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            long key = ninther(a, lo, hi);
+            int lt = lo;
+            int gt = hi;
+            int mid = lo;
+            while (mid < gt) {
+                long item = a.get(mid);
+                if (item < key) {
+                    Util.exch(a, lt++, mid++);
+                } else if (key < item) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
             } else {
-                mid++;
+                introSort(a, gt, hi, depth);
+                hi = lt;
             }
         }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
+        for (int i = lo + 1; i < hi; i++) {
+            long item = a.get(i);
+            int j = i;
+            for (; j > lo && item < a.get(j - 1); j--) {
+                a.put(j, a.get(j - 1));
+            }
+            a.put(j, item);
+        }
     }
 
-    private static short medianOf3(short a1, short a2, short a3) {
-        if (a1 > a2) {
-            if (a2 > a3) {
-                return a2;
-            }
-            if (a3 > a1) {
-                return a1;
+    private static boolean presorted(LongBuffer a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a.get(i) < a.get(i - 1))) {
+            i++;
+        }
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a.get(i) < a.get(i - 1)) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static long ninther(LongBuffer a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a.get(lo), a.get(hi - 1), a.get(mid));
+        }
+        long m1 = medianOf3(a.get(lo), a.get(lo + eps), a.get(lo + 2 * eps));
+        long m2 = medianOf3(a.get(mid - eps), a.get(mid), a.get(mid + eps));
+        long m3 = medianOf3(a.get(hi - 1 - 2 * eps), a.get(hi - 1 - eps), a.get(hi - 1));
+        return medianOf3(m1, m2, m3);
+    }
+
+    private static void introSort(DoubleBuffer a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            double key = ninther(a, lo, hi);
+            int lt = lo;
+            int gt = hi;
+            int mid = lo;
+            while (mid < gt) {
+                double item = a.get(mid);
+                if (item < key) {
+                    Util.exch(a, lt++, mid++);
+                } else if (key < item) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
             }
-            return a3;
-        } else {
-            if (a3 > a2) {
-                return a2;
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
             }
-            if (a1 > a3) {
-                return a1;
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            double item = a.get(i);
+            int j = i;
+            for (; j > lo && item < a.get(j - 1); j--) {
+                a.put(j, a.get(j - 1));
             }
+            a.put(j, item);
         }
-        return a3;
     }
 
-    private static void sort(double[] a, int lo, int hi) {
-        if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
-            return;
+    private static boolean presorted(DoubleBuffer a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(a.get(i) < a.get(i - 1))) {
+            i++;
         }
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        double key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        while (mid < hi) {
-            double cmp = key - a[mid];
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
+        if (i == hi) {
+            return true;
         }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && a.get(i) < a.get(i - 1)) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
     }
 
-    private static double medianOf3(double a1, double a2, double a3) {
-        if (a1 > a2) {
-            if (a2 > a3) {
-                return a2;
+    private static double ninther(DoubleBuffer a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a.get(lo), a.get(hi - 1), a.get(mid));
+        }
+        double m1 = medianOf3(a.get(lo), a.get(lo + eps), a.get(lo + 2 * eps));
+        double m2 = medianOf3(a.get(mid - eps), a.get(mid), a.get(mid + eps));
+        double m3 = medianOf3(a.get(hi - 1 - 2 * eps), a.get(hi - 1 - eps), a.get(hi - 1));
+        return medianOf3(m1, m2, m3);
+    }
+
+    private static <T extends Comparable<? super T>> void introSort(T[] a, int lo, int hi, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            T key = ninther(a, lo, hi);
+            int lt = lo;
+            int gt = hi;
+            int mid = lo;
+            while (mid < gt) {
+                if (Util.less(a[mid], key)) {
+                    Util.exch(a, lt++, mid++);
+                } else if (Util.less(key, a[mid])) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
             }
-            return Math.min(a3, a1);
-        } else {
-            if (a3 > a2) {
-                return a2;
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(a, gt, hi, depth);
+                hi = lt;
             }
-            return Math.max(a3, a1);
+        }
+        if (hi - lo > 1) {
+            Insertion.sort(a, lo, hi);
         }
     }
 
-    private static <T extends Comparable<? super T>> void sort(T[] a, int lo, int hi) {
-        if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi);
-            return;
+    private static <T extends Comparable<? super T>> boolean presorted(T[] a, int lo, int hi) {
+        int i = lo + 1;
+        while (i < hi && !(Util.less(a[i], a[i - 1]))) {
+            i++;
         }
-        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1]);
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        while (mid < hi) {
-            int cmp = key.compareTo(a[mid]);
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
+        if (i == hi) {
+            return true;
+        }
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && Util.less(a[i], a[i - 1])) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static <T extends Comparable<? super T>> T ninther(T[] a, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid]);
+        }
+        T m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps]);
+        T m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps]);
+        T m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1]);
+        return medianOf3(m1, m2, m3);
+    }
+
+    private static <T> void introSort(T[] a, int lo, int hi, int depth, Comparator<? super T> c) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- == 0) {
+                Heap.sort(a, lo, hi, c);
+                return;
+            }
+            if (presorted(a, lo, hi, c)) {
+                return;
+            }
+            T key = ninther(a, lo, hi, c);
+            int lt = lo;
+            int gt = hi;
+            int mid = lo;
+            while (mid < gt) {
+                if (Util.less(a[mid], key, c)) {
+                    Util.exch(a, lt++, mid++);
+                } else if (Util.less(key, a[mid], c)) {
+                    Util.exch(a, --gt, mid);
+                } else {
+                    mid++;
+                }
+            }
+            // recurse into the shorter part, and loop on the longer part
+            if (lt - lo < hi - gt) {
+                introSort(a, lo, lt, depth, c);
+                lo = gt;
             } else {
-                mid++;
+                introSort(a, gt, hi, depth, c);
+                hi = lt;
             }
         }
-        sort(a, loMem, lo);
-        sort(a, hi, hiMem);
-        assert Util.isSorted(a, loMem, lo);
-        assert Util.isSorted(a, hi, hiMem);
+        if (hi - lo > 1) {
+            Insertion.sort(a, lo, hi, c);
+        }
     }
 
-    private static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> c) {
-        if (lo + CUTOFF >= hi) {
-            Insertion.sort(a, lo, hi, c);
-            return;
+    private static <T> boolean presorted(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int i = lo + 1;
+        while (i < hi && !(Util.less(a[i], a[i - 1], c))) {
+            i++;
         }
-        T key = medianOf3(a[lo], a[hi - 1], a[(lo + hi - 1) >>> 1], c);
-        int loMem = lo;
-        int hiMem = hi;
-        int mid = lo;
-        while (mid < hi) {
-            int cmp = c.compare(key, a[mid]);
-            if (cmp > 0) {
-                Util.exch(a, lo++, mid++);
-            } else if (cmp < 0) {
-                Util.exch(a, --hi, mid);
-            } else {
-                mid++;
-            }
+        if (i == hi) {
+            return true;
         }
-        sort(a, loMem, lo, c);
-        sort(a, hi, hiMem, c);
-        assert Util.isSorted(a, loMem, lo, c);
-        assert Util.isSorted(a, hi, hiMem, c);
+        if (i > lo + 1) {
+            return false;
+        }
+        while (i < hi && Util.less(a[i], a[i - 1], c)) {
+            i++;
+        }
+        if (i < hi) {
+            return false;
+        }
+        for (int l = lo, h = hi - 1; l < h; l++, h--) {
+            Util.exch(a, l, h);
+        }
+        return true;
+    }
+
+    private static <T> T ninther(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int mid = (lo + hi - 1) >>> 1;
+        int eps = (hi - lo) >>> 3;
+        if (eps == 0) {
+            return medianOf3(a[lo], a[hi - 1], a[mid], c);
+        }
+        T m1 = medianOf3(a[lo], a[lo + eps], a[lo + 2 * eps], c);
+        T m2 = medianOf3(a[mid - eps], a[mid], a[mid + eps], c);
+        T m3 = medianOf3(a[hi - 1 - 2 * eps], a[hi - 1 - eps], a[hi - 1], c);
+        return medianOf3(m1, m2, m3, c);
     }
 
     /**
@@ -1330,4 +3141,323 @@ public class Quick {
     private static <T> T max(T v, T w, Comparator<? super T> c) {
         return c.compare(v, w) >= 0 ? v : w;
     }
+
+    /**
+     * @return the number of blocks to partition a[lo, hi) of an n-item array
+     * with in parallel: the share of the pool's threads the range gets, and
+     * no block shorter than cutoff
+     */
+    private static int blocks(int n, int lo, int hi, int cutoff) {
+        long share = (long) ForkJoinPool.getCommonPoolParallelism() * (hi - lo) / n;
+        return (int) Math.min(share, (hi - lo) / cutoff);
+    }
+
+    private static int blockStart(int lo, int hi, int blocks, int b) {
+        return lo + (int) ((long) (hi - lo) * b / blocks);
+    }
+
+    /**
+     * @return the boundary of a[lo, hi) once split, given where each block of
+     * it is split
+     */
+    private static int boundary(int lo, int hi, int[] bounds) {
+        int mid = lo;
+        for (int b = 0; b < bounds.length; b++) {
+            mid += bounds[b] - blockStart(lo, hi, bounds.length, b);
+        }
+        return mid;
+    }
+
+    /**
+     * Pair the items of the split blocks on the wrong side of mid: those
+     * after the bound of a block but before mid, with those before the bound
+     * of a block but after mid. They are cut into runs contiguous on both
+     * sides, and at most about total / blocks long.
+     *
+     * @return the runs as triples (i, j, n), to swap a[i, i + n) with
+     * a[j, j + n)
+     */
+    private static int[] swaps(int lo, int hi, int[] bounds, int mid) {
+        int blocks = bounds.length;
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            total += Math.max(0, Math.min(blockStart(lo, hi, blocks, b + 1), mid) - bounds[b]);
+        }
+        int part = Math.max(1, (total + blocks - 1) / blocks);
+        // each run ends a left interval, a right interval or a part
+        int[] swaps = new int[9 * blocks];
+        int count = 0;
+        int l = 0;
+        int r = 0;
+        int i = 0;
+        int iEnd = 0;
+        int j = 0;
+        int jEnd = 0;
+        for (int done = 0; done < total; ) {
+            while (i == iEnd) {
+                i = bounds[l];
+                iEnd = Math.max(i, Math.min(blockStart(lo, hi, blocks, l + 1), mid));
+                l++;
+            }
+            while (j == jEnd) {
+                j = Math.max(blockStart(lo, hi, blocks, r), mid);
+                jEnd = Math.max(j, bounds[r]);
+                r++;
+            }
+            int n = Math.min(Math.min(iEnd - i, jEnd - j), part - done % part);
+            swaps[count++] = i;
+            swaps[count++] = j;
+            swaps[count++] = n;
+            i += n;
+            j += n;
+            done += n;
+        }
+        return Arrays.copyOf(swaps, count);
+    }
+
+    private static class IntSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        IntSortTask(int[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            int key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new IntSortTask(a, lo, lt, depth - 1, cutoff),
+                    new IntSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
+
+    private static class FloatSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final float[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        FloatSortTask(float[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            float key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new FloatSortTask(a, lo, lt, depth - 1, cutoff),
+                    new FloatSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
+
+    private static class CharSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final char[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        CharSortTask(char[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            char key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new CharSortTask(a, lo, lt, depth - 1, cutoff),
+                    new CharSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
+
+    private static class LongSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        LongSortTask(long[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            long key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new LongSortTask(a, lo, lt, depth - 1, cutoff),
+                    new LongSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
+
+    private static class ShortSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final short[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        ShortSortTask(short[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            short key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new ShortSortTask(a, lo, lt, depth - 1, cutoff),
+                    new ShortSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
+
+    private static class DoubleSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+        private final int cutoff;
+
+        DoubleSortTask(double[] a, int lo, int hi, int depth, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff || depth == 0) {
+                introSort(a, lo, hi, depth);
+                return;
+            }
+            if (presorted(a, lo, hi)) {
+                return;
+            }
+            double key = ninther(a, lo, hi);
+            int blocks = blocks(a.length, lo, hi, cutoff);
+            int lt;
+            int gt;
+            if (blocks < 2) {
+                lt = partition(a, lo, hi, key);
+                gt = skipEqual(a, lt, hi, key);
+            } else {
+                lt = parallelSplit(a, lo, hi, key, true, blocks);
+                gt = parallelSplit(a, lt, hi, key, false, blocks);
+            }
+            invokeAll(new DoubleSortTask(a, lo, lt, depth - 1, cutoff),
+                    new DoubleSortTask(a, gt, hi, depth - 1, cutoff));
+        }
+    }
 }
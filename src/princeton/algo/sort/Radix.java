@@ -0,0 +1,589 @@
+package princeton.algo.sort;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The Radix class sorts primitive arrays in linear time by their binary
+ * representation, using byte-wide digits ({@code R = 256}).
+ * <p>
+ * {@code sort()} is an LSD radix sort: it distributes the keys by each byte
+ * from the least significant one, and skips the bytes on which all keys agree.
+ * It uses ~N extra memory. {@code sortMSD()} is an MSD radix sort which
+ * distributes the keys by the most significant byte first and recurses on each
+ * bucket; buckets not longer than {@code CUTOFF = 16} are sorted by a sorting
+ * network of {@code SmallSort}.
+ * On {@code LongBuffer} and {@code DoubleBuffer}, e.g. direct or memory-mapped
+ * ones, {@code sortMSD()} permutes the elements in place (American flag sort),
+ * so no auxiliary buffer is needed.
+ * </p>
+ * <p>
+ * Signed keys are handled by flipping the sign bit of the most significant
+ * byte. {@code float} and {@code double} keys are mapped to integers of the
+ * same order: {@code -0.0} is placed before {@code 0.0} and {@code NaN} after
+ * positive infinity, as {@code Double.compare} does. This is consistent with
+ * the {@code <} comparison used by the other sorts.
+ * </p>
+ * <p>
+ * {@code sortByIntKey()}, {@code sortByLongKey()} and {@code sortByDoubleKey()}
+ * sort records by a primitive key. The keys are extracted once into a
+ * primitive array and LSD radix sorted together with the original indices,
+ * then the records are moved by that permutation. No comparator is called
+ * and no key is boxed. The sort is stable.
+ * </p>
+ */
+public class Radix {
+
+    private static final int BITS = 8;
+    private static final int R = 1 << BITS;
+    private static final int MASK = R - 1;
+    private static final int CUTOFF = 16;
+
+    private Radix() {}
+
+    /**
+     * LSD radix sort {@code int} array
+     *
+     * @param a the {@code int} array
+     */
+    public static void sort(int[] a) {
+        int n = a.length;
+        int[] src = a;
+        int[] dst = new int[n];
+        int[] count = new int[R + 1];
+        for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+            int flip = shift == Integer.SIZE - BITS ? R >>> 1 : 0;
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(((src[i] >>> shift) & MASK) ^ flip) + 1]++;
+            }
+            if (isSingleBucket(count, n)) {
+                continue;
+            }
+            for (int r = 0; r < R; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                dst[count[((src[i] >>> shift) & MASK) ^ flip]++] = src[i];
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+        assert n == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * LSD radix sort {@code long} array
+     *
+     * @param a the {@code long} array
+     */
+    public static void sort(long[] a) {
+        int n = a.length;
+        long[] src = a;
+        long[] dst = new long[n];
+        int[] count = new int[R + 1];
+        for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+            int flip = shift == Long.SIZE - BITS ? R >>> 1 : 0;
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[((int) (src[i] >>> shift) & MASK ^ flip) + 1]++;
+            }
+            if (isSingleBucket(count, n)) {
+                continue;
+            }
+            for (int r = 0; r < R; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                dst[count[(int) (src[i] >>> shift) & MASK ^ flip]++] = src[i];
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+        assert n == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * LSD radix sort {@code short} array
+     *
+     * @param a the {@code short} array
+     */
+    public static void sort(short[] a) {
+        int n = a.length;
+        short[] src = a;
+        short[] dst = new short[n];
+        int[] count = new int[R + 1];
+        for (int shift = 0; shift < Short.SIZE; shift += BITS) {
+            int flip = shift == Short.SIZE - BITS ? R >>> 1 : 0;
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(((src[i] >>> shift) & MASK) ^ flip) + 1]++;
+            }
+            if (isSingleBucket(count, n)) {
+                continue;
+            }
+            for (int r = 0; r < R; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                dst[count[((src[i] >>> shift) & MASK) ^ flip]++] = src[i];
+            }
+            short[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+        assert n == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * LSD radix sort {@code float} array
+     *
+     * @param a the {@code float} array
+     */
+    public static void sort(float[] a) {
+        int[] keys = toKeys(a);
+        sort(keys);
+        fromKeys(keys, a);
+    }
+
+    /**
+     * LSD radix sort {@code double} array
+     *
+     * @param a the {@code double} array
+     */
+    public static void sort(double[] a) {
+        long[] keys = toKeys(a);
+        sort(keys);
+        fromKeys(keys, a);
+    }
+
+    /**
+     * MSD radix sort {@code int} array
+     *
+     * @param a the {@code int} array
+     */
+    public static void sortMSD(int[] a) {
+        msd(a, new int[a.length], 0, a.length, Integer.SIZE - BITS);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * MSD radix sort {@code long} array
+     *
+     * @param a the {@code long} array
+     */
+    public static void sortMSD(long[] a) {
+        msd(a, new long[a.length], 0, a.length, Long.SIZE - BITS);
+        assert a.length == 0 || Util.isSorted(a);
+    }
+
+    /**
+     * MSD radix sort {@code float} array
+     *
+     * @param a the {@code float} array
+     */
+    public static void sortMSD(float[] a) {
+        int[] keys = toKeys(a);
+        sortMSD(keys);
+        fromKeys(keys, a);
+    }
+
+    /**
+     * MSD radix sort {@code double} array
+     *
+     * @param a the {@code double} array
+     */
+    public static void sortMSD(double[] a) {
+        long[] keys = toKeys(a);
+        sortMSD(keys);
+        fromKeys(keys, a);
+    }
+
+    /**
+     * In-place MSD radix sort (American flag sort) of the elements of a
+     * {@code long} buffer from its position to its limit. The buffer may be
+     * direct or memory-mapped; nothing is copied to the Java heap.
+     *
+     * @param a the {@code long} buffer
+     */
+    public static void sortMSD(LongBuffer a) {
+        msd(a, a.position(), a.limit(), Long.SIZE - BITS);
+    }
+
+    /**
+     * In-place MSD radix sort (American flag sort) of the elements of a
+     * {@code double} buffer from its position to its limit. The buffer may be
+     * direct or memory-mapped; nothing is copied to the Java heap.
+     *
+     * @param a the {@code double} buffer
+     */
+    public static void sortMSD(DoubleBuffer a) {
+        msd(a, a.position(), a.limit(), Long.SIZE - BITS);
+    }
+
+    /**
+     * Stable sort an array of records by an {@code int} key
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sortByIntKey(T[] a, ToIntFunction<? super T> key) {
+        int[] keys = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.applyAsInt(a[i]);
+        }
+        permute(a, sortIndexed(keys));
+    }
+
+    /**
+     * Stable sort an array of records by a {@code long} key
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sortByLongKey(T[] a, ToLongFunction<? super T> key) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.applyAsLong(a[i]);
+        }
+        permute(a, sortIndexed(keys));
+    }
+
+    /**
+     * Stable sort an array of records by a {@code double} key, in the order of
+     * {@code Double.compare}
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sortByDoubleKey(T[] a, ToDoubleFunction<? super T> key) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            long bits = Double.doubleToLongBits(key.applyAsDouble(a[i]));
+            keys[i] = bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+        }
+        permute(a, sortIndexed(keys));
+    }
+
+    private static void msd(int[] a, int[] aux, int lo, int hi, int shift) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        int flip = shift == Integer.SIZE - BITS ? R >>> 1 : 0;
+        int[] count = new int[R + 1];
+        for (int i = lo; i < hi; i++) {
+            count[(((a[i] >>> shift) & MASK) ^ flip) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        for (int i = lo; i < hi; i++) {
+            aux[count[((a[i] >>> shift) & MASK) ^ flip]++] = a[i];
+        }
+        System.arraycopy(aux, 0, a, lo, hi - lo);
+        if (shift == 0) {
+            return;
+        }
+        // count[r] is now the end of bucket r
+        for (int r = 0, start = lo; r < R; r++) {
+            int end = lo + count[r];
+            msd(a, aux, start, end, shift - BITS);
+            start = end;
+        }
+    }
+
+    private static void msd(long[] a, long[] aux, int lo, int hi, int shift) {
+        if (hi - lo <= CUTOFF) {
+            if (hi - lo > 1) {
+                SmallSort.sort(a, lo, hi);
+            }
+            return;
+        }
+        int flip = shift == Long.SIZE - BITS ? R >>> 1 : 0;
+        int[] count = new int[R + 1];
+        for (int i = lo; i < hi; i++) {
+            count[((int) (a[i] >>> shift) & MASK ^ flip) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        for (int i = lo; i < hi; i++) {
+            aux[count[(int) (a[i] >>> shift) & MASK ^ flip]++] = a[i];
+        }
+        System.arraycopy(aux, 0, a, lo, hi - lo);
+        if (shift == 0) {
+            return;
+        }
+        // count[r] is now the end of bucket r
+        for (int r = 0, start = lo; r < R; r++) {
+            int end = lo + count[r];
+            msd(a, aux, start, end, shift - BITS);
+            start = end;
+        }
+    }
+
+    /**
+     * LSD radix sort keys, moving the indices along.
+     *
+     * @return the original indices of the keys in sorted order
+     */
+    private static int[] sortIndexed(int[] keys) {
+        int n = keys.length;
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        int[] auxKeys = new int[n];
+        int[] auxIndex = new int[n];
+        int[] count = new int[R + 1];
+        for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+            int flip = shift == Integer.SIZE - BITS ? R >>> 1 : 0;
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(((keys[i] >>> shift) & MASK) ^ flip) + 1]++;
+            }
+            if (isSingleBucket(count, n)) {
+                continue;
+            }
+            for (int r = 0; r < R; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                int j = count[((keys[i] >>> shift) & MASK) ^ flip]++;
+                auxKeys[j] = keys[i];
+                auxIndex[j] = index[i];
+            }
+            int[] temp = keys;
+            keys = auxKeys;
+            auxKeys = temp;
+            temp = index;
+            index = auxIndex;
+            auxIndex = temp;
+        }
+        return index;
+    }
+
+    private static int[] sortIndexed(long[] keys) {
+        int n = keys.length;
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        long[] auxKeys = new long[n];
+        int[] auxIndex = new int[n];
+        int[] count = new int[R + 1];
+        for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+            int flip = shift == Long.SIZE - BITS ? R >>> 1 : 0;
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[((int) (keys[i] >>> shift) & MASK ^ flip) + 1]++;
+            }
+            if (isSingleBucket(count, n)) {
+                continue;
+            }
+            for (int r = 0; r < R; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                int j = count[(int) (keys[i] >>> shift) & MASK ^ flip]++;
+                auxKeys[j] = keys[i];
+                auxIndex[j] = index[i];
+            }
+            long[] tempKeys = keys;
+            keys = auxKeys;
+            auxKeys = tempKeys;
+            int[] tempIndex = index;
+            index = auxIndex;
+            auxIndex = tempIndex;
+        }
+        return index;
+    }
+
+    /**
+     * move a[index[i]] to a[i] for every i.
+     */
+    private static <T> void permute(T[] a, int[] index) {
+        T[] copy = a.clone();
+        for (int i = 0; i < a.length; i++) {
+            a[i] = copy[index[i]];
+        }
+    }
+
+    /**
+     * @return {@code true} if all n keys fall into the same bucket of count
+     */
+    private static boolean isSingleBucket(int[] count, int n) {
+        for (int r = 1; r <= R; r++) {
+            if (count[r] == n) {
+                return true;
+            }
+            if (count[r] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * map floats to ints of the same order: flip all but the sign bit of
+     * negative numbers. The mapping is its own inverse.
+     */
+    private static int[] toKeys(float[] a) {
+        int[] keys = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            int bits = Float.floatToIntBits(a[i]);
+            keys[i] = bits ^ ((bits >> (Integer.SIZE - 1)) & Integer.MAX_VALUE);
+        }
+        return keys;
+    }
+
+    private static void fromKeys(int[] keys, float[] a) {
+        for (int i = 0; i < a.length; i++) {
+            int key = keys[i];
+            a[i] = Float.intBitsToFloat(key ^ ((key >> (Integer.SIZE - 1)) & Integer.MAX_VALUE));
+        }
+    }
+
+    private static void msd(LongBuffer a, int lo, int hi, int shift) {
+        if (hi - lo <= CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                long item = a.get(i);
+                int j = i;
+                for (; j > lo && (item) < (a.get(j - 1)); j--) {
+                    a.put(j, a.get(j - 1));
+                }
+                a.put(j, item);
+            }
+            return;
+        }
+        int flip = shift == Long.SIZE - BITS ? R >>> 1 : 0;
+        int[] count = new int[R + 1];
+        for (int i = lo; i < hi; i++) {
+            count[((int) ((a.get(i)) >>> shift) & MASK ^ flip) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        // swap each element into the next free slot of its bucket
+        int[] next = new int[R];
+        for (int r = 0; r < R; r++) {
+            next[r] = lo + count[r];
+        }
+        for (int r = 0; r < R; r++) {
+            int end = lo + count[r + 1];
+            while (next[r] < end) {
+                long item = a.get(next[r]);
+                int digit = (int) ((item) >>> shift) & MASK ^ flip;
+                while (digit != r) {
+                    long swap = a.get(next[digit]);
+                    a.put(next[digit]++, item);
+                    item = swap;
+                    digit = (int) ((item) >>> shift) & MASK ^ flip;
+                }
+                a.put(next[r]++, item);
+            }
+        }
+        if (shift == 0) {
+            return;
+        }
+        for (int r = 0; r < R; r++) {
+            msd(a, lo + count[r], lo + count[r + 1], shift - BITS);
+        }
+    }
+
+    private static void msd(DoubleBuffer a, int lo, int hi, int shift) {
+        if (hi - lo <= CUTOFF) {
+            for (int i = lo + 1; i < hi; i++) {
+                double item = a.get(i);
+                int j = i;
+                for (; j > lo && key(item) < key(a.get(j - 1)); j--) {
+                    a.put(j, a.get(j - 1));
+                }
+                a.put(j, item);
+            }
+            return;
+        }
+        int flip = shift == Long.SIZE - BITS ? R >>> 1 : 0;
+        int[] count = new int[R + 1];
+        for (int i = lo; i < hi; i++) {
+            count[((int) (key(a.get(i)) >>> shift) & MASK ^ flip) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        // swap each element into the next free slot of its bucket
+        int[] next = new int[R];
+        for (int r = 0; r < R; r++) {
+            next[r] = lo + count[r];
+        }
+        for (int r = 0; r < R; r++) {
+            int end = lo + count[r + 1];
+            while (next[r] < end) {
+                double item = a.get(next[r]);
+                int digit = (int) (key(item) >>> shift) & MASK ^ flip;
+                while (digit != r) {
+                    double swap = a.get(next[digit]);
+                    a.put(next[digit]++, item);
+                    item = swap;
+                    digit = (int) (key(item) >>> shift) & MASK ^ flip;
+                }
+                a.put(next[r]++, item);
+            }
+        }
+        if (shift == 0) {
+            return;
+        }
+        for (int r = 0; r < R; r++) {
+            msd(a, lo + count[r], lo + count[r + 1], shift - BITS);
+        }
+    }
+
+    /**
+     * map a double to a long of the same order, as {@link #toKeys(double[])}
+     */
+    private static long key(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    /**
+     * map doubles to longs of the same order: flip all but the sign bit of
+     * negative numbers. The mapping is its own inverse.
+     */
+    private static long[] toKeys(double[] a) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            long bits = Double.doubleToLongBits(a[i]);
+            keys[i] = bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+        }
+        return keys;
+    }
+
+    private static void fromKeys(long[] keys, double[] a) {
+        for (int i = 0; i < a.length; i++) {
+            long key = keys[i];
+            a[i] = Double.longBitsToDouble(key ^ ((key >> (Long.SIZE - 1)) & Long.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package princeton.algo.sort;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code RandomSource} interface is the source of uniform random numbers
+ * for {@code Shuffle} and the randomized containers. The default source,
+ * {@link #current()}, draws from the generator owned by the calling thread,
+ * so concurrent shuffles neither contend nor allocate; a seeded source makes
+ * a shuffle reproducible under test.
+ * <p>
+ *     Other sources are not thread-safe: give each thread its own, for
+ *     example by {@link #split()}.
+ * </p>
+ */
+public interface RandomSource {
+
+    /**
+     * @param bound the upper bound (excluded), must be positive
+     * @return a uniform {@code int} in [0, bound)
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return a uniform {@code long}
+     */
+    long nextLong();
+
+    /**
+     * @return a uniform {@code double} in [0, 1)
+     */
+    double nextDouble();
+
+    /**
+     * @return a new source, statistically independent of this one, to be used
+     * by another thread or task
+     */
+    RandomSource split();
+
+    /**
+     * the default source: each call draws from the {@code ThreadLocalRandom}
+     * of the calling thread, so it may be shared by all threads
+     *
+     * @return the per-thread source
+     */
+    static RandomSource current() {
+        return ThreadSource.INSTANCE;
+    }
+
+    /**
+     * a reproducible source: equal seeds give equal sequences
+     *
+     * @param seed the seed
+     * @return a source backed by {@code SplittableRandom}
+     */
+    static RandomSource of(long seed) {
+        return of(new SplittableRandom(seed));
+    }
+
+    /**
+     * @param random the generator
+     * @return a source drawing from random
+     */
+    static RandomSource of(SplittableRandom random) {
+        return new RandomSource() {
+            @Override
+            public int nextInt(int bound) {
+                return random.nextInt(bound);
+            }
+
+            @Override
+            public long nextLong() {
+                return random.nextLong();
+            }
+
+            @Override
+            public double nextDouble() {
+                return random.nextDouble();
+            }
+
+            @Override
+            public RandomSource split() {
+                return of(random.split());
+            }
+        };
+    }
+
+    /**
+     * @param random the generator
+     * @return a source drawing from random, whose splits are seeded from it
+     */
+    static RandomSource of(Random random) {
+        return new RandomSource() {
+            @Override
+            public int nextInt(int bound) {
+                return random.nextInt(bound);
+            }
+
+            @Override
+            public long nextLong() {
+                return random.nextLong();
+            }
+
+            @Override
+            public double nextDouble() {
+                return random.nextDouble();
+            }
+
+            @Override
+            public RandomSource split() {
+                return of(random.nextLong());
+            }
+        };
+    }
+}
+
@@ -0,0 +1,1329 @@
+package princeton.algo.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Selection algorithms which find the nth (start from {@code 0} and ends at
+ * {@code length - 1}) smallest element of an array in linear time, without
+ * shuffling.
+ * <p>
+ * {@code select} uses the Floyd-Rivest algorithm: on large ranges, the pivot
+ * is first selected recursively from a small sample, whose bounds are chosen
+ * so that the nth element is very likely to fall between them. It takes about
+ * {@code n + min(k, n - k)} comparisons on average. If a range fails to halve
+ * within two partitions, it falls back to the median of medians pivot, which
+ * guarantees linear time in the worst case.
+ * </p>
+ * <p>
+ * {@code multiSelect} finds several ranks (e.g. percentiles) in one call: it
+ * selects the middle rank and continues on each side with the ranks that fall
+ * there, so that m ranks take O(N log m) time.
+ * </p>
+ */
+public class Select {
+
+    private static final int SAMPLE_CUTOFF = 600;
+
+    private static final int MOM_CUTOFF = 25;
+
+    private Select() {}
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @param <T> a mutually comparable type
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static <T extends Comparable<? super T>> T select(T[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @param <T>   a mutually comparable type
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static <T extends Comparable<? super T>> T[] multiSelect(T[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        T[] out = Arrays.copyOf(a, ranks.length);
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @param c the comparator
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static <T> T select(T[] a, int n, Comparator<? super T> c) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n, c);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @param c     the comparator
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static <T> T[] multiSelect(T[] a, int[] ranks, Comparator<? super T> c) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length, c);
+        T[] out = Arrays.copyOf(a, ranks.length);
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static int select(int[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static int[] multiSelect(int[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        int[] out = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static float select(float[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static float[] multiSelect(float[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        float[] out = new float[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static char select(char[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static char[] multiSelect(char[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        char[] out = new char[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static long select(long[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static long[] multiSelect(long[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        long[] out = new long[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static short select(short[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static short[] multiSelect(short[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        short[] out = new short[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Find the nth (start from {@code 0} and ends at {@code length - 1}) smallest
+     * element of an array in linear time. The array is rearranged so that
+     * {@code a[n]} is that element, no element of {@code a[0, n)} is greater and
+     * no element of {@code a[n + 1, length)} is smaller.
+     *
+     * @param a the input array
+     * @param n the n th smallest to be found (starting from {@code 0} and end at
+     *          {@code a.length - 1})
+     * @throws IllegalArgumentException unless {@code 0 <= n < a.length}
+     */
+    public static double select(double[] a, int n) {
+        checkRank(a.length, n);
+        select(a, 0, a.length - 1, n);
+        return a[n];
+    }
+
+    /**
+     * Find several order statistics at once. The array is rearranged so that
+     * {@code a[r]} is the r th smallest element for every requested rank r, and
+     * the elements between two requested ranks are between them in order.
+     *
+     * @param a     the input array
+     * @param ranks the ranks to be found, each in {@code [0, a.length)}
+     * @return the r th smallest element for each r of {@code ranks}, in the
+     *         order of {@code ranks}
+     * @throws IllegalArgumentException if a rank is out of range
+     */
+    public static double[] multiSelect(double[] a, int[] ranks) {
+        int[] sorted = sortedRanks(a.length, ranks);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length);
+        double[] out = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = a[ranks[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Floyd-Rivest selection of a[k] in a[lo, hi] (inclusive). Each round
+     * partitions around a pivot selected from a sample, so that a[k] is expected
+     * to be close to it. If the range does not halve within two rounds, fall
+     * back to median of medians.
+     */
+    private static <T extends Comparable<? super T>> void select(T[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            T key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (key.compareTo(a[hi]) < 0) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (a[i].compareTo(key) < 0) {
+                    i++;
+                }
+                while (key.compareTo(a[j]) < 0) {
+                    j--;
+                }
+            }
+            if (a[lo].compareTo(key) < 0) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    /**
+     * median of medians selection of a[k] in a[lo, hi] (inclusive), which takes
+     * linear time in the worst case.
+     */
+    private static <T extends Comparable<? super T>> void medianOfMedians(T[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            T key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (a[i].compareTo(key) < 0) {
+                    Util.exch(a, lt++, i++);
+                } else if (key.compareTo(a[i]) < 0) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    /**
+     * select every rank of ranks[from, to), which are sorted, distinct and
+     * within a[lo, hi].
+     */
+    private static <T extends Comparable<? super T>> void multiSelect(T[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void insertion(T[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T item = a[i];
+            int j = i;
+            while (j > lo && item.compareTo(a[j - 1]) < 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static <T> void select(T[] a, int lo, int hi, int k, Comparator<? super T> c) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k, c);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k, c);
+            }
+            T key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (c.compare(key, a[hi]) < 0) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (c.compare(a[i], key) < 0) {
+                    i++;
+                }
+                while (c.compare(key, a[j]) < 0) {
+                    j--;
+                }
+            }
+            if (c.compare(a[lo], key) < 0) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static <T> void medianOfMedians(T[] a, int lo, int hi, int k, Comparator<? super T> c) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4, c);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid, c);
+            T key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (c.compare(a[i], key) < 0) {
+                    Util.exch(a, lt++, i++);
+                } else if (c.compare(key, a[i]) < 0) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi, c);
+    }
+
+    private static <T> void multiSelect(T[] a, int lo, int hi, int[] ranks, int from, int to, Comparator<? super T> c) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k, c);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid, c);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to, c);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static <T> void insertion(T[] a, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T item = a[i];
+            int j = i;
+            while (j > lo && c.compare(item, a[j - 1]) < 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(int[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            int key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (key < a[hi]) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (a[i] < key) {
+                    i++;
+                }
+                while (key < a[j]) {
+                    j--;
+                }
+            }
+            if (a[lo] < key) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(int[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            int key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (a[i] < key) {
+                    Util.exch(a, lt++, i++);
+                } else if (key < a[i]) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(int[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int item = a[i];
+            int j = i;
+            while (j > lo && item < a[j - 1]) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(float[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            float key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (Float.compare(key, a[hi]) < 0) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (Float.compare(a[i], key) < 0) {
+                    i++;
+                }
+                while (Float.compare(key, a[j]) < 0) {
+                    j--;
+                }
+            }
+            if (Float.compare(a[lo], key) < 0) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(float[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            float key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (Float.compare(a[i], key) < 0) {
+                    Util.exch(a, lt++, i++);
+                } else if (Float.compare(key, a[i]) < 0) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(float[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(float[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            float item = a[i];
+            int j = i;
+            while (j > lo && Float.compare(item, a[j - 1]) < 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(char[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            char key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (key < a[hi]) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (a[i] < key) {
+                    i++;
+                }
+                while (key < a[j]) {
+                    j--;
+                }
+            }
+            if (a[lo] < key) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(char[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            char key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (a[i] < key) {
+                    Util.exch(a, lt++, i++);
+                } else if (key < a[i]) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(char[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(char[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            char item = a[i];
+            int j = i;
+            while (j > lo && item < a[j - 1]) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(long[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            long key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (key < a[hi]) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (a[i] < key) {
+                    i++;
+                }
+                while (key < a[j]) {
+                    j--;
+                }
+            }
+            if (a[lo] < key) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(long[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            long key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (a[i] < key) {
+                    Util.exch(a, lt++, i++);
+                } else if (key < a[i]) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(long[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long item = a[i];
+            int j = i;
+            while (j > lo && item < a[j - 1]) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(short[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            short key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (key < a[hi]) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (a[i] < key) {
+                    i++;
+                }
+                while (key < a[j]) {
+                    j--;
+                }
+            }
+            if (a[lo] < key) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(short[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            short key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (a[i] < key) {
+                    Util.exch(a, lt++, i++);
+                } else if (key < a[i]) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(short[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(short[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            short item = a[i];
+            int j = i;
+            while (j > lo && item < a[j - 1]) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void select(double[] a, int lo, int hi, int k) {
+        int size = hi - lo + 1;
+        int steps = 0;
+        while (hi > lo) {
+            if (++steps > 2) {
+                // every two partitions must halve the range
+                if (hi - lo + 1 > size >>> 1) {
+                    medianOfMedians(a, lo, hi, k);
+                    return;
+                }
+                size = hi - lo + 1;
+                steps = 1;
+            }
+            if (hi - lo > SAMPLE_CUTOFF) {
+                // select from a sample that is expected to hold a[k] closely
+                int n = hi - lo + 1;
+                int m = k - lo + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(m - n / 2.0);
+                int newLo = Math.max(lo, (int) (k - m * s / n + sd));
+                int newHi = Math.min(hi, (int) (k + (n - m) * s / n + sd));
+                select(a, newLo, newHi, k);
+            }
+            double key = a[k];
+            int i = lo;
+            int j = hi;
+            Util.exch(a, lo, k);
+            if (Double.compare(key, a[hi]) < 0) {
+                Util.exch(a, lo, hi);
+            }
+            while (i < j) {
+                Util.exch(a, i++, j--);
+                while (Double.compare(a[i], key) < 0) {
+                    i++;
+                }
+                while (Double.compare(key, a[j]) < 0) {
+                    j--;
+                }
+            }
+            if (Double.compare(a[lo], key) < 0) {
+                Util.exch(a, ++j, hi);
+            } else {
+                Util.exch(a, lo, j);
+            }
+            if (j <= k) {
+                lo = j + 1;
+            }
+            if (k <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    private static void medianOfMedians(double[] a, int lo, int hi, int k) {
+        while (hi - lo >= MOM_CUTOFF) {
+            // move the median of each group of 5 to the front
+            int m = lo;
+            for (int i = lo; i + 4 <= hi; i += 5) {
+                insertion(a, i, i + 4);
+                Util.exch(a, m++, i + 2);
+            }
+            int mid = (lo + m - 1) >>> 1;
+            medianOfMedians(a, lo, m - 1, mid);
+            double key = a[mid];
+            // 3-way partition around the median of medians
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (Double.compare(a[i], key) < 0) {
+                    Util.exch(a, lt++, i++);
+                } else if (Double.compare(key, a[i]) < 0) {
+                    Util.exch(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertion(a, lo, hi);
+    }
+
+    private static void multiSelect(double[] a, int lo, int hi, int[] ranks, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ranks[mid];
+            select(a, lo, hi, k);
+            // recurse on the fewer ranks and loop on the others
+            if (mid - from < to - mid - 1) {
+                multiSelect(a, lo, k - 1, ranks, from, mid);
+                lo = k + 1;
+                from = mid + 1;
+            } else {
+                multiSelect(a, k + 1, hi, ranks, mid + 1, to);
+                hi = k - 1;
+                to = mid;
+            }
+        }
+    }
+
+    private static void insertion(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double item = a[i];
+            int j = i;
+            while (j > lo && Double.compare(item, a[j - 1]) < 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = item;
+        }
+    }
+
+    private static void checkRank(int length, int n) {
+        if (n >= length || n < 0) {
+            throw new IllegalArgumentException("out of range");
+        }
+    }
+
+    /**
+     * @return the distinct ranks in ascending order
+     */
+    private static int[] sortedRanks(int length, int[] ranks) {
+        int[] sorted = ranks.clone();
+        for (int r : sorted) {
+            checkRank(length, r);
+        }
+        Quick.introSort(sorted);
+        int m = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (m == 0 || sorted[m - 1] != sorted[i]) {
+                sorted[m++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, m);
+    }
+}
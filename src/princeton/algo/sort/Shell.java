@@ -1,16 +1,124 @@
 package princeton.algo.sort;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /**
- * This shell sort algorithm is based on Sedgewick 1985 increment.
- * The algorithm has worst time O(N^(4/3)).
+ * Shell sort: insertion sorts of the elements a gap apart, for a decreasing
+ * sequence of gaps ending at 1. The inner loop shifts a hole instead of
+ * exchanging neighbours, so each moved element costs one write.
+ * <p>
+ * The gap sequence is chosen by {@link Gaps}. {@code sort(a)} uses Sedgewick's
+ * 1985 increments, with worst time O(N^(4/3)). Ciura's and Tokuda's sequences
+ * are usually the fastest in practice; Pratt's takes O(N log^2 N) time in the
+ * worst case, but with many more passes.
  * Shell sort is not stable.
+ * </p>
  */
 public class Shell {
 
     private Shell() {}
 
+    /**
+     * Gap sequences of Shell sort.
+     */
+    public enum Gaps {
+        /**
+         * Sedgewick 1985: 1, 5, 19, 41, 109, 209, ...
+         */
+        SEDGEWICK,
+        /**
+         * Ciura 2001: 1, 4, 10, 23, 57, 132, 301, 701, 1750, extended by a
+         * factor of 2.25
+         */
+        CIURA,
+        /**
+         * Tokuda 1992: ceil((9 (9/4)^(k-1) - 4) / 5), that is 1, 4, 9, 20, 46, ...
+         */
+        TOKUDA,
+        /**
+         * Pratt 1971: all numbers {@code 2^p 3^q}
+         */
+        PRATT;
+
+        private static final long[] CIURA_GAPS = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+
+        /**
+         * @param n the length of the array
+         * @return the gaps smaller than n in decreasing order, ending at 1
+         */
+        int[] gaps(int n) {
+            long[] gaps;
+            switch (this) {
+                case CIURA:
+                    gaps = ciura(n);
+                    break;
+                case TOKUDA:
+                    gaps = tokuda(n);
+                    break;
+                case PRATT:
+                    gaps = pratt(n);
+                    break;
+                default:
+                    gaps = sedgewick(n);
+                    break;
+            }
+            int[] result = new int[gaps.length];
+            for (int i = 0; i < gaps.length; i++) {
+                result[i] = (int) gaps[gaps.length - 1 - i];
+            }
+            return result;
+        }
+
+        private static long[] sedgewick(int n) {
+            long[] gaps = new long[Long.SIZE];
+            int size = 0;
+            long h = 1;
+            for (int k = 1; size == 0 || h < n; k++) {
+                gaps[size++] = h;
+                h = k % 2 == 0
+                        ? 9 * ((1L << k) - (1L << (k >>> 1))) + 1
+                        : 8 * (1L << k) - 6 * (1L << ((k + 1) >>> 1)) + 1;
+            }
+            return Arrays.copyOf(gaps, size);
+        }
+
+        private static long[] ciura(int n) {
+            long[] gaps = new long[Long.SIZE];
+            int size = 0;
+            long h = 1;
+            while (size == 0 || h < n) {
+                gaps[size++] = h;
+                h = size < CIURA_GAPS.length ? CIURA_GAPS[size] : (long) (2.25 * h);
+            }
+            return Arrays.copyOf(gaps, size);
+        }
+
+        private static long[] tokuda(int n) {
+            long[] gaps = new long[Long.SIZE];
+            int size = 0;
+            double h = 1.0;
+            while (size == 0 || Math.ceil(h) < n) {
+                gaps[size++] = (long) Math.ceil(h);
+                h = 2.25 * h + 1;
+            }
+            return Arrays.copyOf(gaps, size);
+        }
+
+        private static long[] pratt(int n) {
+            long[] gaps = new long[Integer.SIZE * Integer.SIZE];
+            int size = 0;
+            for (long p = 1; size == 0 || p < n; p *= 2) {
+                for (long q = p; size == 0 || q < n; q *= 3) {
+                    gaps[size++] = q;
+                }
+            }
+            gaps = Arrays.copyOf(gaps, size);
+            Quick.introSort(gaps);
+            return gaps;
+        }
+    }
+
     /**
      * Shell sort a mutually comparable array
      *
@@ -18,19 +126,27 @@ public class Shell {
      * @param <T> a mutually comparable type
      */
     public static <T extends Comparable<? super T>> void sort(T[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort a mutually comparable array with a gap sequence
+     *
+     * @param a    the array to be sorted
+     * @param gaps the gap sequence
+     * @param <T>  a mutually comparable type
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                T item = a[i];
                 int j = i;
-                while (j >= gap && Util.less(a[j], a[j - gap])) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && Util.less(item, a[j - gap])) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -43,19 +159,28 @@ public class Shell {
      * @param <T> the type of which the comparator compares
      */
     public static <T> void sort(T[] a, Comparator<? super T> c) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, c, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort an array with a gap sequence.
+     *
+     * @param a    the array to be sorted
+     * @param c    the comparator of the array component type
+     * @param gaps the gap sequence
+     * @param <T>  the type of which the comparator compares
+     */
+    public static <T> void sort(T[] a, Comparator<? super T> c, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                T item = a[i];
                 int j = i;
-                while (j >= gap && Util.less(a[j], a[j - gap], c)) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && Util.less(item, a[j - gap], c)) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -66,19 +191,26 @@ public class Shell {
      * @param a the {@code int} array
      */
     public static void sort(int[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code int} array with a gap sequence
+     *
+     * @param a    the {@code int} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(int[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                int item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -89,19 +221,26 @@ public class Shell {
      * @param a the {@code short} array
      */
     public static void sort(short[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code short} array with a gap sequence
+     *
+     * @param a    the {@code short} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(short[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                short item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -112,19 +251,26 @@ public class Shell {
      * @param a the {@code long} array
      */
     public static void sort(long[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code long} array with a gap sequence
+     *
+     * @param a    the {@code long} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(long[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                long item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -135,19 +281,26 @@ public class Shell {
      * @param a the {@code double} array
      */
     public static void sort(double[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code double} array with a gap sequence
+     *
+     * @param a    the {@code double} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(double[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                double item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -158,19 +311,26 @@ public class Shell {
      * @param a the {@code float} array
      */
     public static void sort(float[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code float} array with a gap sequence
+     *
+     * @param a    the {@code float} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(float[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                float item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
@@ -181,28 +341,27 @@ public class Shell {
      * @param a the {@code char} array
      */
     public static void sort(char[] a) {
-        int k = 0;
-        while (h(k) < a.length) {
-            k++;
-        }
-        while (k >= 0) {
-            int gap = h(k--);
-            // step-gap shell sort
+        sort(a, Gaps.SEDGEWICK);
+    }
+
+    /**
+     * Shell sort {@code char} array with a gap sequence
+     *
+     * @param a    the {@code char} array
+     * @param gaps the gap sequence
+     */
+    public static void sort(char[] a, Gaps gaps) {
+        for (int gap : gaps.gaps(a.length)) {
+            // step-gap insertion sort, shifting a hole instead of exchanging
             for (int i = gap; i < a.length; i++) {
+                char item = a[i];
                 int j = i;
-                while (j >= gap && a[j] < a[j - gap]) {
-                    Util.exch(a, j, j - gap);
+                while (j >= gap && item < a[j - gap]) {
+                    a[j] = a[j - gap];
                     j -= gap;
                 }
+                a[j] = item;
             }
         }
     }
-
-    // Sedgewick 1985 increment
-    private static int h(int k) {
-        if (k % 2 == 0) {
-            return 9 * (- (1 << (k >>> 1)) + (1 << k)) + 1;
-        }
-        return - 6 * (1 << ((k + 1) >>> 1)) + 8 * (1 << k) + 1;
-    }
 }
@@ -1,15 +1,31 @@
 package princeton.algo.sort;
 
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import princeton.algo.queue.Queue;
 import princeton.algo.stack.Stack;
 
 /**
- * The Shuffle class shuffles any array shorter than MAX.INTEGER uniformly in
- * linear time, and shuffles stack and queue in N log(N).
+ * The Shuffle class shuffles any array shorter than MAX.INTEGER, and any
+ * stack or queue, uniformly in linear time.
+ * <p>
+ *     Every shuffle draws from a {@code RandomSource}: by default the generator
+ *     of the calling thread, or a given one, for example a seeded source to
+ *     reproduce a shuffle.
+ * </p>
+ * <p>
+ *     The {@code parallelShuffle} methods shuffle large arrays on a
+ *     {@code ForkJoinPool} by MergeShuffle (Bacher et al.): the two halves are
+ *     shuffled concurrently, down to blocks that fit in cache, and then merged
+ *     by coin flips in one sequential pass. The result is as uniform as the
+ *     sequential Fisher-Yates shuffle, which spends its time on random memory
+ *     access once the array leaves the cache.
+ * </p>
  */
 public class Shuffle {
 
+    private static final int PARALLEL_CUTOFF = 1 << 16;
+
     private Shuffle() {}
 
     /**
@@ -21,16 +37,35 @@ public class Shuffle {
         shuffle(a, 0, a.length);
     }
 
+    /**
+     * Uniformly shuffle any Object array in linear time.
+     *
+     * @param a      the input array
+     * @param random the source of randomness
+     */
+    public static void shuffle(Object[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
+    }
+
     /**
      * Uniformly shuffle sub-array a[start, end) in linear time.
      *
      * @param a the input array
      */
     public static void shuffle(Object[] a, int start, int end) {
+        shuffle(a, start, end, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle sub-array a[start, end) in linear time.
+     *
+     * @param a      the input array
+     * @param random the source of randomness
+     */
+    public static void shuffle(Object[] a, int start, int end, RandomSource random) {
         if (start < 0 || end > a.length) {
             throw new IllegalArgumentException("index out of bounds");
         }
-        Random random = new Random();
         for (int i = start + 1; i < end; i++) {
             int j = start + random.nextInt(i - start + 1);
             Util.exch(a, i, j);
@@ -43,12 +78,17 @@ public class Shuffle {
      * @param a the input {@code int} array
      */
     public static void shuffle(int[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
-        }
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code int} array in linear time.
+     *
+     * @param a      the input {@code int} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(int[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
     }
 
     /**
@@ -57,12 +97,17 @@ public class Shuffle {
      * @param a the input {@code double} array
      */
     public static void shuffle(double[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
-        }
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code double} array in linear time.
+     *
+     * @param a      the input {@code double} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(double[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
     }
 
     /**
@@ -71,12 +116,17 @@ public class Shuffle {
      * @param a the input {@code float} array
      */
     public static void shuffle(float[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
-        }
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code float} array in linear time.
+     *
+     * @param a      the input {@code float} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(float[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
     }
 
     /**
@@ -85,12 +135,17 @@ public class Shuffle {
      * @param a the input {@code short} array
      */
     public static void shuffle(short[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
-        }
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code short} array in linear time.
+     *
+     * @param a      the input {@code short} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(short[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
     }
 
     /**
@@ -99,12 +154,17 @@ public class Shuffle {
      * @param a the input {@code long} array
      */
     public static void shuffle(long[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
-        }
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code long} array in linear time.
+     *
+     * @param a      the input {@code long} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(long[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
     }
 
     /**
@@ -113,147 +173,807 @@ public class Shuffle {
      * @param a the input {@code char} array
      */
     public static void shuffle(char[] a) {
-        Random random = new Random();
-        int size = a.length;
-        for (int i = 1; i < size; i++) {
-            int j = random.nextInt(i + 1);
-            Util.exch(a, i, j);
+        shuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code char} array in linear time.
+     *
+     * @param a      the input {@code char} array
+     * @param random the source of randomness
+     */
+    public static void shuffle(char[] a, RandomSource random) {
+        shuffle(a, 0, a.length, random);
+    }
+
+    /**
+     * Uniformly shuffle Object array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input Object array
+     */
+    public static void parallelShuffle(Object[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle Object array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input Object array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(Object[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle Object array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input Object array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(Object[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new ObjectShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code int} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code int} array
+     */
+    public static void parallelShuffle(int[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code int} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code int} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(int[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle {@code int} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code int} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(int[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new IntShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code long} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code long} array
+     */
+    public static void parallelShuffle(long[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code long} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code long} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(long[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle {@code long} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code long} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(long[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new LongShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code double} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code double} array
+     */
+    public static void parallelShuffle(double[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code double} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code double} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(double[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle {@code double} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code double} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(double[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new DoubleShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code float} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code float} array
+     */
+    public static void parallelShuffle(float[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code float} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code float} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(float[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle {@code float} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code float} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(float[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new FloatShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code short} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code short} array
+     */
+    public static void parallelShuffle(short[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code short} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code short} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(short[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
+    }
+
+    /**
+     * Uniformly shuffle {@code short} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code short} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(short[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
         }
+        ForkJoinPool.commonPool().invoke(new ShortShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle {@code char} array in parallel using the common
+     * {@code ForkJoinPool}.
+     *
+     * @param a the input {@code char} array
+     */
+    public static void parallelShuffle(char[] a) {
+        parallelShuffle(a, RandomSource.current());
+    }
+
+    /**
+     * Uniformly shuffle {@code char} array in parallel using the common
+     * {@code ForkJoinPool}. A seeded source gives the same permutation on
+     * every run, regardless of the scheduling of the tasks.
+     *
+     * @param a      the input {@code char} array
+     * @param random the source of randomness
+     */
+    public static void parallelShuffle(char[] a, RandomSource random) {
+        parallelShuffle(a, random, PARALLEL_CUTOFF);
     }
 
     /**
-     * Uniformly shuffle a Queue in N log N time.
+     * Uniformly shuffle {@code char} array in parallel using the common
+     * {@code ForkJoinPool}. Blocks no longer than {@code cutoff} are
+     * shuffled sequentially.
+     *
+     * @param a      the input {@code char} array
+     * @param random the source of randomness
+     * @param cutoff the sequential cutoff
+     * @throws IllegalArgumentException if {@code cutoff < 1}
+     */
+    public static void parallelShuffle(char[] a, RandomSource random, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        ForkJoinPool.commonPool().invoke(new CharShuffleTask(a, 0, a.length, random, cutoff));
+    }
+
+    /**
+     * Uniformly shuffle a Queue in linear time, by its own {@code shuffle()}.
      *
      * @param d    the Queue
      * @param <T>  the type of input queue (which extends {@code Queue} interface)
      * @param <T2> the component type of the input queue
+     * @throws UnsupportedOperationException if the queue cannot be shuffled
      */
     public static <T extends Queue<T2>, T2> void shuffle(T d) {
-        int size = d.size();
-        Random random = new Random();
-        T shuffled = shuffle(d, random);
-        for (int i = 0; i < size; i++) {
-            assert shuffled != null;
-            d.enqueue(shuffled.dequeue());
-        }
+        d.shuffle();
+    }
+
+    /**
+     * Uniformly shuffle a Queue in linear time, by its own
+     * {@code shuffle(RandomSource)}: the linked queues shuffle their nodes'
+     * items in place, and only other implementations dequeue the items into an
+     * array and enqueue them again.
+     *
+     * @param d      the Queue
+     * @param random the source of randomness
+     * @param <T>    the type of input queue (which extends {@code Queue} interface)
+     * @param <T2>   the component type of the input queue
+     * @throws UnsupportedOperationException if the queue cannot be shuffled
+     */
+    public static <T extends Queue<T2>, T2> void shuffle(T d, RandomSource random) {
+        d.shuffle(random);
     }
 
     /**
-     * Uniformly shuffle a Stack in N log N time.
+     * Uniformly shuffle a Stack in linear time, by its own {@code shuffle()}.
      *
      * @param s    the stack
      * @param <T>  the type of input stack (which extends {@code Stack} interface)
      * @param <T2> the component type of the input stack
+     * @throws UnsupportedOperationException if the stack cannot be shuffled
      */
     public static <T extends Stack<T2>, T2> void shuffle(T s) {
-        int size = s.size();
-        Random random = new Random();
-        T shuffled = shuffle(s, random);
-        for (int i = 0; i < size; i++) {
-            assert shuffled != null;
-            s.push(shuffled.pop());
-        }
-    }
-
-    private static <T extends Queue<T2>, T2> T shuffle(T d, Random random) {
-        assert d != null;
-        int dSize = d.size();
-        if (dSize == 1) {
-            return d;
-        }
-        try {
-            @SuppressWarnings("unchecked")
-            T d1 = (T) d.getClass().getConstructor().newInstance();
-            @SuppressWarnings("unchecked")
-            T d2 = (T) d.getClass().getConstructor().newInstance();
-            boolean alternate = true;
-            for (int i = 0; i < dSize; i++) {
-                if (alternate) {
-                    d1.enqueue(d.dequeue());
-                    alternate = false;
-                } else {
-                    d2.enqueue(d.dequeue());
-                    alternate = true;
+        s.shuffle();
+    }
+
+    /**
+     * Uniformly shuffle a Stack in linear time, by its own
+     * {@code shuffle(RandomSource)}: the linked stack shuffles its nodes' items
+     * in place, and only other implementations pop the items into an array and
+     * push them again.
+     *
+     * @param s      the stack
+     * @param random the source of randomness
+     * @param <T>    the type of input stack (which extends {@code Stack} interface)
+     * @param <T2>   the component type of the input stack
+     * @throws UnsupportedOperationException if the stack cannot be shuffled
+     */
+    public static <T extends Stack<T2>, T2> void shuffle(T s, RandomSource random) {
+        s.shuffle(random);
+    }
+
+    private static void shuffle(int[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void shuffle(long[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void shuffle(double[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void shuffle(float[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void shuffle(short[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    private static void shuffle(char[] a, int lo, int hi, RandomSource random) {
+        for (int i = lo + 1; i < hi; i++) {
+            int j = lo + random.nextInt(i - lo + 1);
+            Util.exch(a, i, j);
+        }
+    }
+
+    /**
+     * merge the shuffled a[lo, mid) and a[mid, hi) into a uniform shuffle of
+     * a[lo, hi) (MergeShuffle). A coin flip decides whether position i keeps
+     * its item or takes the next item of the right run; once one run is out,
+     * the rest are inserted by Fisher-Yates, which is rarely more than a few
+     * items.
+     */
+    private static void merge(Object[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
                 }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
+            }
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(int[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
             }
-            return merge(shuffle(d1, random), shuffle(d2, random), random);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private static <T extends Stack<T2>, T2> T shuffle(T s, Random random) {
-        assert s != null;
-        int dSize = s.size();
-        if (dSize == 1) {
-            return s;
-        }
-        try {
-            @SuppressWarnings("unchecked")
-            T s1 = (T) s.getClass().getConstructor().newInstance();
-            @SuppressWarnings("unchecked")
-            T s2 = (T) s.getClass().getConstructor().newInstance();
-            boolean alternate = true;
-            for (int i = 0; i < dSize; i++) {
-                if (alternate) {
-                    s1.push(s.pop());
-                    alternate = false;
-                } else {
-                    s2.push(s.pop());
-                    alternate = true;
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
+                }
+            } else {
+                if (j == hi) {
+                    break;
                 }
+                Util.exch(a, i, j++);
             }
-            return merge(shuffle(s1, random), shuffle(s2, random), random);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private static <T extends Stack<T2>, T2> T merge(T s1, T s2, Random random) {
-        assert s1 != null;
-        assert s2 != null;
-        try {
-            @SuppressWarnings("unchecked")
-            T stack = (T) s1.getClass().getConstructor().newInstance();
-            while (s1.size() > 0 || s2.size() > 0) {
-                double p = (double) s1.size() / (s1.size() + s2.size());
-                if (p == 0) {
-                    stack.push(s2.pop());
-                } else if (p == 1 || random.nextDouble() < p) {
-                    stack.push(s1.pop());
-                } else {
-                    stack.push(s2.pop());
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(long[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
                 }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
             }
-            return stack;
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private static <T extends Queue<T2>, T2> T merge(T d1, T d2, Random random) {
-        assert d1 != null;
-        assert d2 != null;
-        try {
-            @SuppressWarnings("unchecked")
-            T queue = (T) d1.getClass().getConstructor().newInstance();
-            while (d1.size() > 0 || d2.size() > 0) {
-                double p = (double) d1.size() / (d1.size() + d2.size());
-                if (p == 0) {
-                    queue.enqueue(d2.dequeue());
-                } else if (p == 1 || random.nextDouble() < p) {
-                    queue.enqueue(d1.dequeue());
-                } else {
-                    queue.enqueue(d2.dequeue());
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(double[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
+                }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
+            }
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(float[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
                 }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
+            }
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(short[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
+                }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
+            }
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static void merge(char[] a, int lo, int mid, int hi, RandomSource random) {
+        int i = lo;
+        int j = mid;
+        long bits = 0;
+        int remaining = 0;
+        while (true) {
+            if (remaining == 0) {
+                bits = random.nextLong();
+                remaining = Long.SIZE;
+            }
+            boolean flip = (bits & 1) != 0;
+            bits >>>= 1;
+            remaining--;
+            if (!flip) {
+                if (i == j) {
+                    break;
+                }
+            } else {
+                if (j == hi) {
+                    break;
+                }
+                Util.exch(a, i, j++);
+            }
+            i++;
+        }
+        for (; i < hi; i++) {
+            Util.exch(a, i, lo + random.nextInt(i - lo + 1));
+        }
+    }
+
+    private static class ObjectShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Object[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        ObjectShuffleTask(Object[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ObjectShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new ObjectShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class IntShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        IntShuffleTask(int[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new IntShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new IntShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class LongShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        LongShuffleTask(long[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LongShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new LongShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class DoubleShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        DoubleShuffleTask(double[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new DoubleShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new DoubleShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class FloatShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final float[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        FloatShuffleTask(float[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new FloatShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new FloatShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class ShortShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final short[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        ShortShuffleTask(short[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ShortShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new ShortShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
+        }
+    }
+
+    private static class CharShuffleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final char[] a;
+        private final int lo;
+        private final int hi;
+        private final RandomSource random;
+        private final int cutoff;
+
+        CharShuffleTask(char[] a, int lo, int hi, RandomSource random, int cutoff) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                shuffle(a, lo, hi, random);
+                return;
             }
-            return queue;
-        } catch (Exception e) {
-            e.printStackTrace();
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new CharShuffleTask(a, lo, mid, random.split(), cutoff),
+                    new CharShuffleTask(a, mid, hi, random.split(), cutoff));
+            merge(a, lo, mid, hi, random);
         }
-        return null;
     }
 }
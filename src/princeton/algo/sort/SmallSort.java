@@ -0,0 +1,5306 @@
+package princeton.algo.sort;
+
+/**
+ * Kernels which sort short sub-arrays of primitive types, used at the leaves
+ * of the recursive sorts instead of insertion sort.
+ * <p>
+ * Up to 16 elements are sorted by a fixed sorting network: the elements are
+ * loaded into locals, and the sequence of compare-exchanges does not depend
+ * on the data. Each compare-exchange is a min / max (or a conditional
+ * select), which the JIT compiles without branches, so there is none of the
+ * branch mispredictions of insertion sort on random data. The networks up to
+ * 8 elements have the optimal number of comparators; larger ones are Batcher's
+ * odd-even merge networks, pruned to the size. The comparators are listed
+ * layer by layer, so those of a layer are independent of each other.
+ * </p>
+ * <p>
+ * Longer sub-arrays, which the recursive sorts never pass, are sorted in
+ * blocks of 16 by the network, and the blocks are merged bottom-up through a
+ * buffer of the same length. The merge selects the next item and the advance
+ * of its two cursors by conditional selects instead of branches.
+ * </p>
+ * <p>
+ * Like the sorts that use them, they are not stable, and the order of
+ * {@code float} and {@code double} {@code NaN} is not defined.
+ * </p>
+ */
+public final class SmallSort {
+
+    private static final int BLOCK = 16;
+
+    private SmallSort() {}
+
+    /**
+     * sort a short {@code int} array
+     *
+     * @param a the {@code int} array
+     */
+    public static void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code int} array
+     *
+     * @param a  the {@code int} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(int[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(int[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        int[] src = a;
+        int[] dst = new int[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(int[] src, int lo, int mid, int hi, int[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            int x = src[i];
+            int y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+    }
+
+    private static void network3(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+    }
+
+    private static void network4(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+    }
+
+    private static void network5(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+    }
+
+    private static void network6(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+    }
+
+    private static void network7(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+    }
+
+    private static void network8(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+    }
+
+    private static void network9(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+    }
+
+    private static void network10(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+    }
+
+    private static void network11(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+    }
+
+    private static void network12(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+    }
+
+    private static void network13(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+    }
+
+    private static void network14(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+    }
+
+    private static void network15(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+    }
+
+    private static void network16(int[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int v15 = a[lo + 15];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v11, v15); v15 = Math.max(v11, v15); v11 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v7, v15); v15 = Math.max(v7, v15); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+        a[lo + 15] = v15;
+    }
+
+    /**
+     * sort a short {@code long} array
+     *
+     * @param a the {@code long} array
+     */
+    public static void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code long} array
+     *
+     * @param a  the {@code long} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(long[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(long[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        long[] src = a;
+        long[] dst = new long[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(long[] src, int lo, int mid, int hi, long[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            long x = src[i];
+            long y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+    }
+
+    private static void network3(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+    }
+
+    private static void network4(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+    }
+
+    private static void network5(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+    }
+
+    private static void network6(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+    }
+
+    private static void network7(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+    }
+
+    private static void network8(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+    }
+
+    private static void network9(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+    }
+
+    private static void network10(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+    }
+
+    private static void network11(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+    }
+
+    private static void network12(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long v11 = a[lo + 11];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+    }
+
+    private static void network13(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long v11 = a[lo + 11];
+        long v12 = a[lo + 12];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+    }
+
+    private static void network14(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long v11 = a[lo + 11];
+        long v12 = a[lo + 12];
+        long v13 = a[lo + 13];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+    }
+
+    private static void network15(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long v11 = a[lo + 11];
+        long v12 = a[lo + 12];
+        long v13 = a[lo + 13];
+        long v14 = a[lo + 14];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+    }
+
+    private static void network16(long[] a, int lo) {
+        long v0 = a[lo];
+        long v1 = a[lo + 1];
+        long v2 = a[lo + 2];
+        long v3 = a[lo + 3];
+        long v4 = a[lo + 4];
+        long v5 = a[lo + 5];
+        long v6 = a[lo + 6];
+        long v7 = a[lo + 7];
+        long v8 = a[lo + 8];
+        long v9 = a[lo + 9];
+        long v10 = a[lo + 10];
+        long v11 = a[lo + 11];
+        long v12 = a[lo + 12];
+        long v13 = a[lo + 13];
+        long v14 = a[lo + 14];
+        long v15 = a[lo + 15];
+        long t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v11, v15); v15 = Math.max(v11, v15); v11 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v7, v15); v15 = Math.max(v7, v15); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+        a[lo + 15] = v15;
+    }
+
+    /**
+     * sort a short {@code short} array
+     *
+     * @param a the {@code short} array
+     */
+    public static void sort(short[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code short} array
+     *
+     * @param a  the {@code short} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(short[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(short[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        short[] src = a;
+        short[] dst = new short[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            short[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(short[] src, int lo, int mid, int hi, short[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            short x = src[i];
+            short y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+    }
+
+    private static void network3(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+    }
+
+    private static void network4(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+    }
+
+    private static void network5(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+    }
+
+    private static void network6(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+    }
+
+    private static void network7(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+    }
+
+    private static void network8(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+    }
+
+    private static void network9(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+    }
+
+    private static void network10(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+    }
+
+    private static void network11(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+    }
+
+    private static void network12(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+        a[lo + 11] = (short) v11;
+    }
+
+    private static void network13(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+        a[lo + 11] = (short) v11;
+        a[lo + 12] = (short) v12;
+    }
+
+    private static void network14(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+        a[lo + 11] = (short) v11;
+        a[lo + 12] = (short) v12;
+        a[lo + 13] = (short) v13;
+    }
+
+    private static void network15(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+        a[lo + 11] = (short) v11;
+        a[lo + 12] = (short) v12;
+        a[lo + 13] = (short) v13;
+        a[lo + 14] = (short) v14;
+    }
+
+    private static void network16(short[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int v15 = a[lo + 15];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v11, v15); v15 = Math.max(v11, v15); v11 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v7, v15); v15 = Math.max(v7, v15); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = (short) v0;
+        a[lo + 1] = (short) v1;
+        a[lo + 2] = (short) v2;
+        a[lo + 3] = (short) v3;
+        a[lo + 4] = (short) v4;
+        a[lo + 5] = (short) v5;
+        a[lo + 6] = (short) v6;
+        a[lo + 7] = (short) v7;
+        a[lo + 8] = (short) v8;
+        a[lo + 9] = (short) v9;
+        a[lo + 10] = (short) v10;
+        a[lo + 11] = (short) v11;
+        a[lo + 12] = (short) v12;
+        a[lo + 13] = (short) v13;
+        a[lo + 14] = (short) v14;
+        a[lo + 15] = (short) v15;
+    }
+
+    /**
+     * sort a short {@code char} array
+     *
+     * @param a the {@code char} array
+     */
+    public static void sort(char[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code char} array
+     *
+     * @param a  the {@code char} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(char[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(char[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        char[] src = a;
+        char[] dst = new char[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            char[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(char[] src, int lo, int mid, int hi, char[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            char x = src[i];
+            char y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+    }
+
+    private static void network3(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+    }
+
+    private static void network4(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+    }
+
+    private static void network5(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+    }
+
+    private static void network6(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+    }
+
+    private static void network7(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+    }
+
+    private static void network8(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+    }
+
+    private static void network9(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+    }
+
+    private static void network10(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+    }
+
+    private static void network11(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+    }
+
+    private static void network12(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+        a[lo + 11] = (char) v11;
+    }
+
+    private static void network13(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+        a[lo + 11] = (char) v11;
+        a[lo + 12] = (char) v12;
+    }
+
+    private static void network14(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+        a[lo + 11] = (char) v11;
+        a[lo + 12] = (char) v12;
+        a[lo + 13] = (char) v13;
+    }
+
+    private static void network15(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+        a[lo + 11] = (char) v11;
+        a[lo + 12] = (char) v12;
+        a[lo + 13] = (char) v13;
+        a[lo + 14] = (char) v14;
+    }
+
+    private static void network16(char[] a, int lo) {
+        int v0 = a[lo];
+        int v1 = a[lo + 1];
+        int v2 = a[lo + 2];
+        int v3 = a[lo + 3];
+        int v4 = a[lo + 4];
+        int v5 = a[lo + 5];
+        int v6 = a[lo + 6];
+        int v7 = a[lo + 7];
+        int v8 = a[lo + 8];
+        int v9 = a[lo + 9];
+        int v10 = a[lo + 10];
+        int v11 = a[lo + 11];
+        int v12 = a[lo + 12];
+        int v13 = a[lo + 13];
+        int v14 = a[lo + 14];
+        int v15 = a[lo + 15];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v11, v15); v15 = Math.max(v11, v15); v11 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v10, v14); v14 = Math.max(v10, v14); v10 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v7, v15); v15 = Math.max(v7, v15); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v4, v12); v12 = Math.max(v4, v12); v4 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v6, v14); v14 = Math.max(v6, v14); v6 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v5, v13); v13 = Math.max(v5, v13); v5 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        a[lo] = (char) v0;
+        a[lo + 1] = (char) v1;
+        a[lo + 2] = (char) v2;
+        a[lo + 3] = (char) v3;
+        a[lo + 4] = (char) v4;
+        a[lo + 5] = (char) v5;
+        a[lo + 6] = (char) v6;
+        a[lo + 7] = (char) v7;
+        a[lo + 8] = (char) v8;
+        a[lo + 9] = (char) v9;
+        a[lo + 10] = (char) v10;
+        a[lo + 11] = (char) v11;
+        a[lo + 12] = (char) v12;
+        a[lo + 13] = (char) v13;
+        a[lo + 14] = (char) v14;
+        a[lo + 15] = (char) v15;
+    }
+
+    /**
+     * sort a short {@code float} array
+     *
+     * @param a the {@code float} array
+     */
+    public static void sort(float[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code float} array
+     *
+     * @param a  the {@code float} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(float[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(float[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        float[] src = a;
+        float[] dst = new float[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            float[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(float[] src, int lo, int mid, int hi, float[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            float x = src[i];
+            float y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+    }
+
+    private static void network3(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+    }
+
+    private static void network4(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+    }
+
+    private static void network5(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float t;
+        t = v3 < v0 ? v3 : v0; v3 = v3 < v0 ? v0 : v3; v0 = t;
+        t = v4 < v1 ? v4 : v1; v4 = v4 < v1 ? v1 : v4; v1 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+    }
+
+    private static void network6(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float t;
+        t = v5 < v0 ? v5 : v0; v5 = v5 < v0 ? v0 : v5; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v3 < v0 ? v3 : v0; v3 = v3 < v0 ? v0 : v3; v0 = t;
+        t = v5 < v2 ? v5 : v2; v5 = v5 < v2 ? v2 : v5; v2 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+    }
+
+    private static void network7(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float t;
+        t = v6 < v0 ? v6 : v0; v6 = v6 < v0 ? v0 : v6; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v4 < v1 ? v4 : v1; v4 = v4 < v1 ? v1 : v4; v1 = t;
+        t = v6 < v3 ? v6 : v3; v6 = v6 < v3 ? v3 : v6; v3 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v5 < v2 ? v5 : v2; v5 = v5 < v2 ? v2 : v5; v2 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+    }
+
+    private static void network8(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+    }
+
+    private static void network9(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+    }
+
+    private static void network10(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+    }
+
+    private static void network11(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+    }
+
+    private static void network12(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float v11 = a[lo + 11];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+    }
+
+    private static void network13(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float v11 = a[lo + 11];
+        float v12 = a[lo + 12];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+    }
+
+    private static void network14(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float v11 = a[lo + 11];
+        float v12 = a[lo + 12];
+        float v13 = a[lo + 13];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+    }
+
+    private static void network15(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float v11 = a[lo + 11];
+        float v12 = a[lo + 12];
+        float v13 = a[lo + 13];
+        float v14 = a[lo + 14];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v14 < v12 ? v14 : v12; v14 = v14 < v12 ? v12 : v14; v12 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v14 < v10 ? v14 : v10; v14 = v14 < v10 ? v10 : v14; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v14 < v6 ? v14 : v6; v14 = v14 < v6 ? v6 : v14; v6 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+    }
+
+    private static void network16(float[] a, int lo) {
+        float v0 = a[lo];
+        float v1 = a[lo + 1];
+        float v2 = a[lo + 2];
+        float v3 = a[lo + 3];
+        float v4 = a[lo + 4];
+        float v5 = a[lo + 5];
+        float v6 = a[lo + 6];
+        float v7 = a[lo + 7];
+        float v8 = a[lo + 8];
+        float v9 = a[lo + 9];
+        float v10 = a[lo + 10];
+        float v11 = a[lo + 11];
+        float v12 = a[lo + 12];
+        float v13 = a[lo + 13];
+        float v14 = a[lo + 14];
+        float v15 = a[lo + 15];
+        float t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v15 < v14 ? v15 : v14; v15 = v15 < v14 ? v14 : v15; v14 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v14 < v12 ? v14 : v12; v14 = v14 < v12 ? v12 : v14; v12 = t;
+        t = v15 < v13 ? v15 : v13; v15 = v15 < v13 ? v13 : v15; v13 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v15 < v11 ? v15 : v11; v15 = v15 < v11 ? v11 : v15; v11 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v14 < v10 ? v14 : v10; v14 = v14 < v10 ? v10 : v14; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v15 < v7 ? v15 : v7; v15 = v15 < v7 ? v7 : v15; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v14 < v6 ? v14 : v6; v14 = v14 < v6 ? v6 : v14; v6 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+        a[lo + 15] = v15;
+    }
+
+    /**
+     * sort a short {@code double} array
+     *
+     * @param a the {@code double} array
+     */
+    public static void sort(double[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * sort a[lo, hi) of a {@code double} array
+     *
+     * @param a  the {@code double} array
+     * @param lo the beginning index (included)
+     * @param hi the ending index (excluded)
+     */
+    static void sort(double[] a, int lo, int hi) {
+        switch (hi - lo) {
+            case 2:
+                network2(a, lo);
+                return;
+            case 3:
+                network3(a, lo);
+                return;
+            case 4:
+                network4(a, lo);
+                return;
+            case 5:
+                network5(a, lo);
+                return;
+            case 6:
+                network6(a, lo);
+                return;
+            case 7:
+                network7(a, lo);
+                return;
+            case 8:
+                network8(a, lo);
+                return;
+            case 9:
+                network9(a, lo);
+                return;
+            case 10:
+                network10(a, lo);
+                return;
+            case 11:
+                network11(a, lo);
+                return;
+            case 12:
+                network12(a, lo);
+                return;
+            case 13:
+                network13(a, lo);
+                return;
+            case 14:
+                network14(a, lo);
+                return;
+            case 15:
+                network15(a, lo);
+                return;
+            case 16:
+                network16(a, lo);
+                return;
+            default:
+                break;
+        }
+        if (hi - lo > BLOCK) {
+            mergeBlocks(a, lo, hi);
+        }
+    }
+
+    /**
+     * sort the blocks of a[lo, hi) by the network, then merge them bottom-up,
+     * back and forth between a and a buffer
+     */
+    private static void mergeBlocks(double[] a, int lo, int hi) {
+        for (int b = lo; b < hi; b += BLOCK) {
+            sort(a, b, Math.min(b + BLOCK, hi));
+        }
+        int n = hi - lo;
+        double[] src = a;
+        double[] dst = new double[n];
+        int srcLo = lo;
+        int dstLo = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int i = 0; i < n; i += 2 * width) {
+                int mid = Math.min(i + width, n);
+                int end = Math.min(i + 2 * width, n);
+                merge(src, srcLo + i, srcLo + mid, srcLo + end, dst, dstLo + i);
+            }
+            double[] t = src;
+            src = dst;
+            dst = t;
+            int tLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tLo;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcLo, a, lo, n);
+        }
+    }
+
+    /**
+     * merge src[lo, mid) and src[mid, hi) into dst from k on. The next item
+     * and the advance of i and j are selected, not branched on.
+     */
+    private static void merge(double[] src, int lo, int mid, int hi, double[] dst, int k) {
+        int i = lo;
+        int j = mid;
+        while (i < mid && j < hi) {
+            double x = src[i];
+            double y = src[j];
+            boolean right = y < x;
+            dst[k++] = right ? y : x;
+            i += right ? 0 : 1;
+            j += right ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void network2(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+    }
+
+    private static void network3(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+    }
+
+    private static void network4(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+    }
+
+    private static void network5(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double t;
+        t = v3 < v0 ? v3 : v0; v3 = v3 < v0 ? v0 : v3; v0 = t;
+        t = v4 < v1 ? v4 : v1; v4 = v4 < v1 ? v1 : v4; v1 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+    }
+
+    private static void network6(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double t;
+        t = v5 < v0 ? v5 : v0; v5 = v5 < v0 ? v0 : v5; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v3 < v0 ? v3 : v0; v3 = v3 < v0 ? v0 : v3; v0 = t;
+        t = v5 < v2 ? v5 : v2; v5 = v5 < v2 ? v2 : v5; v2 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+    }
+
+    private static void network7(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double t;
+        t = v6 < v0 ? v6 : v0; v6 = v6 < v0 ? v0 : v6; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v4 < v1 ? v4 : v1; v4 = v4 < v1 ? v1 : v4; v1 = t;
+        t = v6 < v3 ? v6 : v3; v6 = v6 < v3 ? v3 : v6; v3 = t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v5 < v2 ? v5 : v2; v5 = v5 < v2 ? v2 : v5; v2 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+    }
+
+    private static void network8(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+    }
+
+    private static void network9(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+    }
+
+    private static void network10(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+    }
+
+    private static void network11(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+    }
+
+    private static void network12(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double v11 = a[lo + 11];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+    }
+
+    private static void network13(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double v11 = a[lo + 11];
+        double v12 = a[lo + 12];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+    }
+
+    private static void network14(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double v11 = a[lo + 11];
+        double v12 = a[lo + 12];
+        double v13 = a[lo + 13];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+    }
+
+    private static void network15(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double v11 = a[lo + 11];
+        double v12 = a[lo + 12];
+        double v13 = a[lo + 13];
+        double v14 = a[lo + 14];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v14 < v12 ? v14 : v12; v14 = v14 < v12 ? v12 : v14; v12 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v14 < v10 ? v14 : v10; v14 = v14 < v10 ? v10 : v14; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v14 < v6 ? v14 : v6; v14 = v14 < v6 ? v6 : v14; v6 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+    }
+
+    private static void network16(double[] a, int lo) {
+        double v0 = a[lo];
+        double v1 = a[lo + 1];
+        double v2 = a[lo + 2];
+        double v3 = a[lo + 3];
+        double v4 = a[lo + 4];
+        double v5 = a[lo + 5];
+        double v6 = a[lo + 6];
+        double v7 = a[lo + 7];
+        double v8 = a[lo + 8];
+        double v9 = a[lo + 9];
+        double v10 = a[lo + 10];
+        double v11 = a[lo + 11];
+        double v12 = a[lo + 12];
+        double v13 = a[lo + 13];
+        double v14 = a[lo + 14];
+        double v15 = a[lo + 15];
+        double t;
+        t = v1 < v0 ? v1 : v0; v1 = v1 < v0 ? v0 : v1; v0 = t;
+        t = v3 < v2 ? v3 : v2; v3 = v3 < v2 ? v2 : v3; v2 = t;
+        t = v5 < v4 ? v5 : v4; v5 = v5 < v4 ? v4 : v5; v4 = t;
+        t = v7 < v6 ? v7 : v6; v7 = v7 < v6 ? v6 : v7; v6 = t;
+        t = v9 < v8 ? v9 : v8; v9 = v9 < v8 ? v8 : v9; v8 = t;
+        t = v11 < v10 ? v11 : v10; v11 = v11 < v10 ? v10 : v11; v10 = t;
+        t = v13 < v12 ? v13 : v12; v13 = v13 < v12 ? v12 : v13; v12 = t;
+        t = v15 < v14 ? v15 : v14; v15 = v15 < v14 ? v14 : v15; v14 = t;
+        t = v2 < v0 ? v2 : v0; v2 = v2 < v0 ? v0 : v2; v0 = t;
+        t = v3 < v1 ? v3 : v1; v3 = v3 < v1 ? v1 : v3; v1 = t;
+        t = v6 < v4 ? v6 : v4; v6 = v6 < v4 ? v4 : v6; v4 = t;
+        t = v7 < v5 ? v7 : v5; v7 = v7 < v5 ? v5 : v7; v5 = t;
+        t = v10 < v8 ? v10 : v8; v10 = v10 < v8 ? v8 : v10; v8 = t;
+        t = v11 < v9 ? v11 : v9; v11 = v11 < v9 ? v9 : v11; v9 = t;
+        t = v14 < v12 ? v14 : v12; v14 = v14 < v12 ? v12 : v14; v12 = t;
+        t = v15 < v13 ? v15 : v13; v15 = v15 < v13 ? v13 : v15; v13 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v4 < v0 ? v4 : v0; v4 = v4 < v0 ? v0 : v4; v0 = t;
+        t = v7 < v3 ? v7 : v3; v7 = v7 < v3 ? v3 : v7; v3 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v8 ? v12 : v8; v12 = v12 < v8 ? v8 : v12; v8 = t;
+        t = v15 < v11 ? v15 : v11; v15 = v15 < v11 ? v11 : v15; v11 = t;
+        t = v6 < v2 ? v6 : v2; v6 = v6 < v2 ? v2 : v6; v2 = t;
+        t = v5 < v1 ? v5 : v1; v5 = v5 < v1 ? v1 : v5; v1 = t;
+        t = v14 < v10 ? v14 : v10; v14 = v14 < v10 ? v10 : v14; v10 = t;
+        t = v13 < v9 ? v13 : v9; v13 = v13 < v9 ? v9 : v13; v9 = t;
+        t = v8 < v0 ? v8 : v0; v8 = v8 < v0 ? v0 : v8; v0 = t;
+        t = v15 < v7 ? v15 : v7; v15 = v15 < v7 ? v7 : v15; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        t = v12 < v4 ? v12 : v4; v12 = v12 < v4 ? v4 : v12; v4 = t;
+        t = v10 < v2 ? v10 : v2; v10 = v10 < v2 ? v2 : v10; v2 = t;
+        t = v14 < v6 ? v14 : v6; v14 = v14 < v6 ? v6 : v14; v6 = t;
+        t = v9 < v1 ? v9 : v1; v9 = v9 < v1 ? v1 : v9; v1 = t;
+        t = v13 < v5 ? v13 : v5; v13 = v13 < v5 ? v5 : v13; v5 = t;
+        t = v11 < v3 ? v11 : v3; v11 = v11 < v3 ? v3 : v11; v3 = t;
+        t = v8 < v4 ? v8 : v4; v8 = v8 < v4 ? v4 : v8; v4 = t;
+        t = v10 < v6 ? v10 : v6; v10 = v10 < v6 ? v6 : v10; v6 = t;
+        t = v9 < v5 ? v9 : v5; v9 = v9 < v5 ? v5 : v9; v5 = t;
+        t = v11 < v7 ? v11 : v7; v11 = v11 < v7 ? v7 : v11; v7 = t;
+        t = v4 < v2 ? v4 : v2; v4 = v4 < v2 ? v2 : v4; v2 = t;
+        t = v8 < v6 ? v8 : v6; v8 = v8 < v6 ? v6 : v8; v6 = t;
+        t = v12 < v10 ? v12 : v10; v12 = v12 < v10 ? v10 : v12; v10 = t;
+        t = v5 < v3 ? v5 : v3; v5 = v5 < v3 ? v3 : v5; v3 = t;
+        t = v9 < v7 ? v9 : v7; v9 = v9 < v7 ? v7 : v9; v7 = t;
+        t = v13 < v11 ? v13 : v11; v13 = v13 < v11 ? v11 : v13; v11 = t;
+        t = v2 < v1 ? v2 : v1; v2 = v2 < v1 ? v1 : v2; v1 = t;
+        t = v4 < v3 ? v4 : v3; v4 = v4 < v3 ? v3 : v4; v3 = t;
+        t = v6 < v5 ? v6 : v5; v6 = v6 < v5 ? v5 : v6; v5 = t;
+        t = v8 < v7 ? v8 : v7; v8 = v8 < v7 ? v7 : v8; v7 = t;
+        t = v10 < v9 ? v10 : v9; v10 = v10 < v9 ? v9 : v10; v9 = t;
+        t = v12 < v11 ? v12 : v11; v12 = v12 < v11 ? v11 : v12; v11 = t;
+        t = v14 < v13 ? v14 : v13; v14 = v14 < v13 ? v13 : v14; v13 = t;
+        a[lo] = v0;
+        a[lo + 1] = v1;
+        a[lo + 2] = v2;
+        a[lo + 3] = v3;
+        a[lo + 4] = v4;
+        a[lo + 5] = v5;
+        a[lo + 6] = v6;
+        a[lo + 7] = v7;
+        a[lo + 8] = v8;
+        a[lo + 9] = v9;
+        a[lo + 10] = v10;
+        a[lo + 11] = v11;
+        a[lo + 12] = v12;
+        a[lo + 13] = v13;
+        a[lo + 14] = v14;
+        a[lo + 15] = v15;
+    }
+}
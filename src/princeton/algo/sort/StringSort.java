@@ -0,0 +1,308 @@
+package princeton.algo.sort;
+
+import java.util.function.Function;
+
+/**
+ * The StringSort class sorts strings character by character instead of
+ * calling {@code compareTo}, so that common prefixes are scanned only once.
+ * <p>
+ * {@code sortMSD()} is an MSD radix sort. To keep the radix small it reads a
+ * {@code char} as two bytes (high byte first), which gives the same order as
+ * {@code String.compareTo}. Sub-arrays shorter than {@code CUTOFF = 15} are
+ * sorted by insertion sort starting from the current character. MSD radix
+ * sort is stable and uses ~N extra memory.
+ * </p>
+ * <p>
+ * {@code sort3way()} is a 3-way radix quick sort: it partitions on the
+ * character at the current depth, and only the middle part moves on to the
+ * next character. It is not stable, but sorts in place. The array is shuffled
+ * before sorting.
+ * </p>
+ * <p>
+ * Both algorithms accept a key extractor so that records can be sorted by a
+ * {@code CharSequence} or a {@code byte[]} key. The keys are extracted once
+ * and never converted to {@code String}. {@code byte[]} keys are compared as
+ * unsigned bytes, as {@code Arrays.compareUnsigned} does.
+ * </p>
+ */
+public class StringSort {
+
+    private static final int R = 256;
+    private static final int CUTOFF = 15;
+
+    private StringSort() {}
+
+    /**
+     * MSD radix sort a {@code String} array
+     *
+     * @param a the {@code String} array
+     */
+    public static void sortMSD(String[] a) {
+        msd(a, null, new CharSequence[a.length], null, 0, a.length, 0);
+    }
+
+    /**
+     * MSD radix sort an array by a {@code CharSequence} key. The sort is stable.
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sortMSD(T[] a, Function<? super T, ? extends CharSequence> key) {
+        CharSequence[] keys = new CharSequence[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.apply(a[i]);
+        }
+        msd(keys, a, new CharSequence[a.length], new Object[a.length], 0, a.length, 0);
+    }
+
+    /**
+     * MSD radix sort an array by a {@code byte[]} key. The sort is stable.
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sortMSDByBytes(T[] a, Function<? super T, byte[]> key) {
+        byte[][] keys = new byte[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.apply(a[i]);
+        }
+        msd(keys, a, new byte[a.length][], new Object[a.length], 0, a.length, 0);
+    }
+
+    /**
+     * 3-way radix quick sort a {@code String} array
+     *
+     * @param a the {@code String} array
+     */
+    public static void sort3way(String[] a) {
+        Shuffle.shuffle(a);
+        sort3way(a, null, 0, a.length, 0);
+    }
+
+    /**
+     * 3-way radix quick sort an array by a {@code CharSequence} key.
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sort3way(T[] a, Function<? super T, ? extends CharSequence> key) {
+        Shuffle.shuffle(a);
+        CharSequence[] keys = new CharSequence[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.apply(a[i]);
+        }
+        sort3way(keys, a, 0, a.length, 0);
+    }
+
+    /**
+     * 3-way radix quick sort an array by a {@code byte[]} key.
+     *
+     * @param a   the array to be sorted
+     * @param key the function which extracts the key of an element
+     * @param <T> the component type of the array
+     */
+    public static <T> void sort3wayByBytes(T[] a, Function<? super T, byte[]> key) {
+        Shuffle.shuffle(a);
+        byte[][] keys = new byte[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = key.apply(a[i]);
+        }
+        sort3way(keys, a, 0, a.length, 0);
+    }
+
+    /**
+     * @return the dth byte of s (two bytes per char, high byte first),
+     * or -1 if s is shorter
+     */
+    private static int byteAt(CharSequence s, int d) {
+        int i = d >>> 1;
+        if (i >= s.length()) {
+            return -1;
+        }
+        char c = s.charAt(i);
+        return (d & 1) == 0 ? c >>> 8 : c & 0xFF;
+    }
+
+    private static int byteAt(byte[] s, int d) {
+        return d < s.length ? s[d] & 0xFF : -1;
+    }
+
+    /**
+     * @return the dth char of s, or -1 if s is shorter
+     */
+    private static int charAt(CharSequence s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+
+    /**
+     * sort keys[lo, hi), whose first d bytes are equal. items, if not null,
+     * is moved along with keys.
+     */
+    private static void msd(CharSequence[] keys, Object[] items, CharSequence[] auxKeys, Object[] auxItems,
+                            int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) {
+            insertion(keys, items, lo, hi, d >>> 1);
+            return;
+        }
+        int[] count = new int[R + 2];
+        for (int i = lo; i < hi; i++) {
+            count[byteAt(keys[i], d) + 2]++;
+        }
+        for (int r = 0; r < R + 1; r++) {
+            count[r + 1] += count[r];
+        }
+        for (int i = lo; i < hi; i++) {
+            int j = count[byteAt(keys[i], d) + 1]++;
+            auxKeys[j] = keys[i];
+            if (items != null) {
+                auxItems[j] = items[i];
+            }
+        }
+        System.arraycopy(auxKeys, 0, keys, lo, hi - lo);
+        if (items != null) {
+            System.arraycopy(auxItems, 0, items, lo, hi - lo);
+        }
+        // count[r + 1] is now the end of the bucket of byte r
+        for (int r = 0; r < R; r++) {
+            msd(keys, items, auxKeys, auxItems, lo + count[r], lo + count[r + 1], d + 1);
+        }
+    }
+
+    private static void msd(byte[][] keys, Object[] items, byte[][] auxKeys, Object[] auxItems,
+                            int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) {
+            insertion(keys, items, lo, hi, d);
+            return;
+        }
+        int[] count = new int[R + 2];
+        for (int i = lo; i < hi; i++) {
+            count[byteAt(keys[i], d) + 2]++;
+        }
+        for (int r = 0; r < R + 1; r++) {
+            count[r + 1] += count[r];
+        }
+        for (int i = lo; i < hi; i++) {
+            int j = count[byteAt(keys[i], d) + 1]++;
+            auxKeys[j] = keys[i];
+            auxItems[j] = items[i];
+        }
+        System.arraycopy(auxKeys, 0, keys, lo, hi - lo);
+        System.arraycopy(auxItems, 0, items, lo, hi - lo);
+        // count[r + 1] is now the end of the bucket of byte r
+        for (int r = 0; r < R; r++) {
+            msd(keys, items, auxKeys, auxItems, lo + count[r], lo + count[r + 1], d + 1);
+        }
+    }
+
+    /**
+     * sort keys[lo, hi), whose first d chars are equal, by 3-way partitioning
+     * on the dth char.
+     */
+    private static void sort3way(CharSequence[] keys, Object[] items, int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) {
+            insertion(keys, items, lo, hi, d);
+            return;
+        }
+        int lt = lo;
+        int gt = hi;
+        int mid = lo + 1;
+        int key = charAt(keys[lo], d);
+        while (mid < gt) {
+            int c = charAt(keys[mid], d);
+            if (c < key) {
+                exch(keys, items, lt++, mid++);
+            } else if (c > key) {
+                exch(keys, items, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        sort3way(keys, items, lo, lt, d);
+        if (key >= 0) {
+            sort3way(keys, items, lt, gt, d + 1);
+        }
+        sort3way(keys, items, gt, hi, d);
+    }
+
+    private static void sort3way(byte[][] keys, Object[] items, int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) {
+            insertion(keys, items, lo, hi, d);
+            return;
+        }
+        int lt = lo;
+        int gt = hi;
+        int mid = lo + 1;
+        int key = byteAt(keys[lo], d);
+        while (mid < gt) {
+            int c = byteAt(keys[mid], d);
+            if (c < key) {
+                exch(keys, items, lt++, mid++);
+            } else if (c > key) {
+                exch(keys, items, --gt, mid);
+            } else {
+                mid++;
+            }
+        }
+        sort3way(keys, items, lo, lt, d);
+        if (key >= 0) {
+            sort3way(keys, items, lt, gt, d + 1);
+        }
+        sort3way(keys, items, gt, hi, d);
+    }
+
+    /**
+     * insertion sort keys[lo, hi), whose first d chars are equal.
+     */
+    private static void insertion(CharSequence[] keys, Object[] items, int lo, int hi, int d) {
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && less(keys[j], keys[j - 1], d); j--) {
+                exch(keys, items, j, j - 1);
+            }
+        }
+    }
+
+    private static void insertion(byte[][] keys, Object[] items, int lo, int hi, int d) {
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && less(keys[j], keys[j - 1], d); j--) {
+                exch(keys, items, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if v < w, comparing from the dth char
+     */
+    private static boolean less(CharSequence v, CharSequence w, int d) {
+        int n = Math.min(v.length(), w.length());
+        for (int i = d; i < n; i++) {
+            char cv = v.charAt(i);
+            char cw = w.charAt(i);
+            if (cv != cw) {
+                return cv < cw;
+            }
+        }
+        return v.length() < w.length();
+    }
+
+    private static boolean less(byte[] v, byte[] w, int d) {
+        int n = Math.min(v.length, w.length);
+        for (int i = d; i < n; i++) {
+            int bv = v[i] & 0xFF;
+            int bw = w[i] & 0xFF;
+            if (bv != bw) {
+                return bv < bw;
+            }
+        }
+        return v.length < w.length;
+    }
+
+    private static <K> void exch(K[] keys, Object[] items, int i, int j) {
+        Util.exch(keys, i, j);
+        if (items != null) {
+            Util.exch(items, i, j);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package princeton.algo.sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The source returned by {@code RandomSource.current()}. It holds no state:
+ * every call draws from the {@code ThreadLocalRandom} of the calling thread,
+ * so one instance serves all threads without contention.
+ */
+final class ThreadSource implements RandomSource {
+
+    static final ThreadSource INSTANCE = new ThreadSource();
+
+    private ThreadSource() {}
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+        return RandomSource.of(ThreadLocalRandom.current().nextLong());
+    }
+}
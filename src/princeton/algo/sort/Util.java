@@ -1,5 +1,7 @@
 package princeton.algo.sort;
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Comparator;
 
 /**
@@ -266,4 +268,40 @@ public class Util {
         a[i2] = swap;
     }
 
+    public static boolean isSorted(LongBuffer a) {
+        for (int i = a.position(); i < a.limit() - 1; i++) {
+            if (a.get(i + 1) < a.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void exch(LongBuffer a, int i1, int i2) {
+        if (i1 == i2) {
+            return;
+        }
+        long swap = a.get(i1);
+        a.put(i1, a.get(i2));
+        a.put(i2, swap);
+    }
+
+    public static boolean isSorted(DoubleBuffer a) {
+        for (int i = a.position(); i < a.limit() - 1; i++) {
+            if (a.get(i + 1) < a.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void exch(DoubleBuffer a, int i1, int i2) {
+        if (i1 == i2) {
+            return;
+        }
+        double swap = a.get(i1);
+        a.put(i1, a.get(i2));
+        a.put(i2, swap);
+    }
+
 }
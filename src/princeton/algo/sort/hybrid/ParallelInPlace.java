@@ -0,0 +1,205 @@
+package princeton.algo.sort.hybrid;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel driver for the in-place stable sorts of this package.
+ * <p>
+ * The array is split into chunks which are sorted independently by a
+ * sequential in-place sort on the common {@code ForkJoinPool}. Sorted
+ * neighbours are then merged in place: the larger run is cut at its middle,
+ * the matching position in the other run is found by binary search, and the
+ * two inner parts are swapped by a rotation. This leaves two independent
+ * merges which run as separate tasks. No auxiliary array is allocated, and
+ * the merge is stable.
+ * </p>
+ */
+final class ParallelInPlace {
+
+    static final int PARALLEL_CUTOFF = 1 << 13;
+
+    private ParallelInPlace() {}
+
+    /**
+     * A sequential sort of {@code a[lo, hi)}.
+     */
+    interface RangeSort<T> {
+        void sort(T[] a, int lo, int hi);
+    }
+
+    /**
+     * sort the array by sorting chunks with {@code sorter} and merging them in
+     * place, both on the common {@code ForkJoinPool}.
+     */
+    static <T> void sort(T[] a, RangeSort<T> sorter, Comparator<? super T> c) {
+        int n = a.length;
+        if (n <= PARALLEL_CUTOFF) {
+            sorter.sort(a, 0, n);
+            return;
+        }
+        // a few chunks per worker so that the pool stays busy
+        int chunk = Math.max(PARALLEL_CUTOFF, n / (4 * ForkJoinPool.getCommonPoolParallelism()) + 1);
+        ForkJoinPool.commonPool().invoke(new SortTask<>(a, 0, n, chunk, sorter, c));
+    }
+
+    /**
+     * stable in-place merge of the sorted runs a[lo, mid) and a[mid, hi).
+     */
+    static <T> void merge(T[] a, int lo, int mid, int hi, Comparator<? super T> c) {
+        while (lo < mid && mid < hi && c.compare(a[mid - 1], a[mid]) > 0) {
+            if (mid - lo == 1) {
+                rotate(a, lo, mid, lowerBound(a, mid, hi, a[lo], c));
+                return;
+            }
+            if (hi - mid == 1) {
+                rotate(a, upperBound(a, lo, mid, a[mid], c), mid, hi);
+                return;
+            }
+            int[] cut = split(a, lo, mid, hi, c);
+            // recurse on the smaller part and loop on the larger one
+            if (cut[0] - lo + cut[1] - cut[0] < hi - cut[1]) {
+                merge(a, lo, cut[0], cut[1], c);
+                lo = cut[1];
+                mid = cut[2];
+            } else {
+                merge(a, cut[1], cut[2], hi, c);
+                hi = cut[1];
+                mid = cut[0];
+            }
+        }
+    }
+
+    /**
+     * Cut the larger run at its middle and rotate the inner parts, so that
+     * a[lo, p) only holds elements of the left half of the merge. Then
+     * a[lo, m) and a[m, p) are the runs of the first merge, a[p, q) and a[q, hi)
+     * the runs of the second.
+     *
+     * @return {m, p, q}
+     */
+    private static <T> int[] split(T[] a, int lo, int mid, int hi, Comparator<? super T> c) {
+        int m1;
+        int m2;
+        if (mid - lo >= hi - mid) {
+            m1 = (lo + mid) >>> 1;
+            // right elements equal to a[m1] stay after it
+            m2 = lowerBound(a, mid, hi, a[m1], c);
+        } else {
+            m2 = (mid + hi) >>> 1;
+            // left elements equal to a[m2] stay before it
+            m1 = upperBound(a, lo, mid, a[m2], c);
+        }
+        rotate(a, m1, mid, m2);
+        int p = m1 + (m2 - mid);
+        return new int[] {m1, p, p + (mid - m1)};
+    }
+
+    /**
+     * @return the first index in a[lo, hi) whose element is not less than key
+     */
+    private static <T> int lowerBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (c.compare(a[m], key) < 0) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first index in a[lo, hi) whose element is greater than key
+     */
+    private static <T> int upperBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (c.compare(a[m], key) <= 0) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * swap a[lo, mid) and a[mid, hi) by three reversals.
+     */
+    private static <T> void rotate(T[] a, int lo, int mid, int hi) {
+        if (lo == mid || mid == hi) {
+            return;
+        }
+        reverse(a, lo, mid);
+        reverse(a, mid, hi);
+        reverse(a, lo, hi);
+    }
+
+    private static <T> void reverse(T[] a, int lo, int hi) {
+        for (hi--; lo < hi; lo++, hi--) {
+            T temp = a[lo];
+            a[lo] = a[hi];
+            a[hi] = temp;
+        }
+    }
+
+    private static class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final int lo;
+        private final int hi;
+        private final int chunk;
+        private final RangeSort<T> sorter;
+        private final Comparator<? super T> c;
+
+        SortTask(T[] a, int lo, int hi, int chunk, RangeSort<T> sorter, Comparator<? super T> c) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.chunk = chunk;
+            this.sorter = sorter;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= chunk) {
+                sorter.sort(a, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, lo, mid, chunk, sorter, c), new SortTask<>(a, mid, hi, chunk, sorter, c));
+            new MergeTask<>(a, lo, mid, hi, c).compute();
+        }
+    }
+
+    private static class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final int lo;
+        private final int mid;
+        private final int hi;
+        private final Comparator<? super T> c;
+
+        MergeTask(T[] a, int lo, int mid, int hi, Comparator<? super T> c) {
+            this.a = a;
+            this.lo = lo;
+            this.mid = mid;
+            this.hi = hi;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_CUTOFF || lo == mid || mid == hi || c.compare(a[mid - 1], a[mid]) <= 0) {
+                merge(a, lo, mid, hi, c);
+                return;
+            }
+            int[] cut = split(a, lo, mid, hi, c);
+            invokeAll(new MergeTask<>(a, lo, cut[0], cut[1], c), new MergeTask<>(a, cut[1], cut[2], hi, c));
+        }
+    }
+}
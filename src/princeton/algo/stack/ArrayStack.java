@@ -3,6 +3,7 @@ package princeton.algo.stack;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import princeton.algo.sort.RandomSource;
 import princeton.algo.sort.Shuffle;
 
 /**
@@ -65,6 +66,11 @@ public class ArrayStack<Item> implements Stack<Item> {
         Shuffle.shuffle(s, 0, size);
     }
 
+    @Override
+    public void shuffle(RandomSource random) {
+        Shuffle.shuffle(s, 0, size, random);
+    }
+
     private void resize(int capacity) {
         @SuppressWarnings("unchecked")
         Item[] copy = (Item[]) Array.newInstance(s.getClass().getComponentType(), capacity);
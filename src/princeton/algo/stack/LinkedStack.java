@@ -2,7 +2,8 @@ package princeton.algo.stack;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
+import princeton.algo.sort.RandomSource;
+import princeton.algo.sort.Shuffle;
 
 /**
  * The LinkedStack class implements an iterable LIFO stack data structure
@@ -116,50 +117,35 @@ public class LinkedStack<Item> implements Stack<Item> {
     }
 
     /**
-     * Shuffle LinkedStack using N logN time without extra memory.
+     * Shuffle the LinkedStack uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
      */
     public void shuffle() {
-        LinkedStack<Item> stack = new LinkedStack<>();
-        stack.first = first;
-        stack.size = size;
-        Random random = new Random();
-        LinkedStack<Item> shuffled = shuffle(stack, random);
-        first = shuffled.first;
+        shuffle(RandomSource.current());
     }
 
-    private LinkedStack<Item> shuffle(LinkedStack<Item> d, Random random) {
-        int dSize = d.size;
-        if (dSize == 1) {
-            return d;
-        }
-        LinkedStack<Item> d1 = new LinkedStack<>();
-        LinkedStack<Item> d2 = new LinkedStack<>();
-        boolean alternate = true;
-        for (int i = 0; i < dSize; i++) {
-            if (alternate) {
-                d1.push(d.pop());
-                alternate = false;
-            } else {
-                d2.push(d.pop());
-                alternate = true;
-            }
+    /**
+     * Shuffle the LinkedStack uniformly in linear time. The items are copied
+     * into an array, shuffled by Fisher-Yates and written back into the same
+     * nodes, so no node is reallocated.
+     *
+     * @param random the source of randomness
+     */
+    @Override
+    public void shuffle(RandomSource random) {
+        Object[] items = new Object[size];
+        int i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            items[i++] = x.item;
         }
-        return merge(shuffle(d1, random), shuffle(d2, random), random);
-    }
-
-    private LinkedStack<Item> merge(LinkedStack<Item> d1, LinkedStack<Item> d2, Random random) {
-        LinkedStack<Item> stack = new LinkedStack<>();
-        while (d1.size() > 0 || d2.size() > 0) {
-            double p = (double) d1.size() / (d1.size() + d2.size());
-            if (p == 0) {
-                stack.push(d2.pop());
-            } else if (p == 1 || random.nextDouble() < p) {
-                stack.push(d1.pop());
-            } else {
-                stack.push(d2.pop());
-            }
+        Shuffle.shuffle(items, random);
+        i = 0;
+        for (Node x = first; i < size; x = x.next) {
+            @SuppressWarnings("unchecked")
+            Item item = (Item) items[i++];
+            x.item = item;
         }
-        return stack;
     }
 
     /**
@@ -1,6 +1,8 @@
 package princeton.algo.stack;
 
 import java.util.NoSuchElementException;
+import princeton.algo.sort.RandomSource;
+import princeton.algo.sort.Shuffle;
 
 /**
  * The Stack interface is an iterable Generic class that implements the Stack
@@ -33,10 +35,30 @@ public interface Stack<Item> extends Iterable<Item> {
     /**
      * shuffle the stack. For array implementation, the operation takes linear time
      * and requires no extra memory. For linked-list implementation, the operation
-     * takes log(n) time, and requires no extra memory.
+     * takes linear time, and copies the items into an array of size n.
      */
     void shuffle();
 
+    /**
+     * shuffle the stack with the given source of randomness. The implementations
+     * of this package shuffle in place as {@code shuffle()} does; this default
+     * pops all items into an array, shuffles it and pushes them again.
+     * @param random the source of randomness
+     * @throws UnsupportedOperationException if shuffling is not supported.
+     */
+    default void shuffle(RandomSource random) {
+        Object[] items = new Object[size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = pop();
+        }
+        Shuffle.shuffle(items, random);
+        for (Object item : items) {
+            @SuppressWarnings("unchecked")
+            Item t = (Item) item;
+            push(t);
+        }
+    }
+
     /**
      * peek the first item to be popped, but do not remove.
      * @return {@code null} is empty
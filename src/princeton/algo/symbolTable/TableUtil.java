@@ -1,6 +1,6 @@
 package princeton.algo.symbolTable;
 
-import princeton.algo.binaryHeap.PriorityQueue;
+import princeton.algo.binaryHeap.TopK;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Comparator;
@@ -52,17 +52,14 @@ public class TableUtil {
      */
     @SuppressWarnings("unchecked")
     public static <T extends SymbolTable<K, V>, K, V extends Comparable<? super V>> T topNValue(T table, int topN) {
-        PriorityQueue<Pair<K, V>> PQ = new PriorityQueue<>(Math.max(1, topN), new valueComparatorReversed<>());
         if (topN < 0) throw new IllegalArgumentException("negative topN parameter");
-        int firstK = 0;
+        TopK<Pair<K, V>> top = new TopK<>(topN, new valueComparator<>());
         for (Pair<K, V> pair : table.pairs()) {
-            PQ.enqueue(pair);
-            if (firstK >= topN) PQ.remove();
-            else firstK++;
+            top.add(pair);
         }
         try {
             SymbolTable<K, V> newTable = table.getClass().getConstructor().newInstance();
-            for (Pair<K, V> p : PQ) newTable.put(p.getKey(), p.getValue());
+            for (Pair<K, V> p : top) newTable.put(p.getKey(), p.getValue());
             return (T) newTable;
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
             throw new InternalError("Cannot instantiate new table");
@@ -85,17 +82,14 @@ public class TableUtil {
      */
     @SuppressWarnings("unchecked")
     public static <T extends SymbolTable<K, V>, K, V extends Comparable<? super V>> T bottomNValue(T table, int bottomN) {
-        PriorityQueue<Pair<K, V>> PQ = new PriorityQueue<>(Math.max(1, bottomN), new valueComparator<>());
         if (bottomN < 0) throw new IllegalArgumentException("negative topK parameter");
-        int firstK = 0;
+        TopK<Pair<K, V>> bottom = new TopK<>(bottomN, new valueComparatorReversed<>());
         for (Pair<K, V> pair : table.pairs()) {
-            PQ.enqueue(pair);
-            if (firstK >= bottomN) PQ.remove();
-            else firstK++;
+            bottom.add(pair);
         }
         try {
             SymbolTable<K, V> newTable = table.getClass().getConstructor().newInstance();
-            for (Pair<K, V> p : PQ) newTable.put(p.getKey(), p.getValue());
+            for (Pair<K, V> p : bottom) newTable.put(p.getKey(), p.getValue());
             return (T) newTable;
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
             throw new InternalError("Cannot instantiate new table");
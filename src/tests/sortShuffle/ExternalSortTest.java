@@ -0,0 +1,129 @@
+package tests.sortShuffle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Stopwatch;
+import princeton.algo.sort.ExternalSort;
+
+/**
+ * Test ExternalSort runtime on a file of 16-byte records with a {@code long}
+ * key, under shrinking memory budgets, and check the output. The keys repeat
+ * and the payload of each record is its input index, so the check covers
+ * stability across the spilled runs, and that no record is lost or
+ * duplicated.
+ * <p>
+ *     {@code sortLines} is then run on random lines with mixed {@code LF} and
+ *     {@code CRLF} endings, empty lines and an empty last line, and checked
+ *     against {@code Collections.sort}.
+ * </p>
+ */
+class ExternalSortTest {
+
+    private static final int RECORD = 16;
+
+    public static void main(String[] args) throws IOException {
+        final int N = 4_000_000;
+        Random random = new Random();
+        Path dir = Files.createTempDirectory("externalSort");
+        Path in = dir.resolve("in.bin");
+        Path out = dir.resolve("out.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(N * RECORD);
+        // about 60 records per key, many of them in different runs
+        for (int i = 0; i < N; i++) {
+            buffer.putLong(random.nextInt(1 << 16) - (1 << 15));
+            buffer.putLong(i);
+        }
+        Files.write(in, buffer.array());
+
+        long[] budgets = {1L << 28, 1L << 24, 1L << 20, 1L << 18};
+        for (long memory : budgets) {
+            Stopwatch stopwatch = new Stopwatch();
+            ExternalSort.sortRecords(in, out, RECORD, ByteBuffer::getLong, memory);
+            double time = stopwatch.elapsedTime();
+            System.out.printf("memory %10d takes: %.3f, sorted and stable: %b \n", memory, time,
+                    isStablySorted(out, N));
+        }
+        Files.delete(in);
+        Files.delete(out);
+
+        final int LINES = 200_000;
+        List<String> lines = new ArrayList<>(LINES);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            // the last line is empty, and about one in 20 before it
+            String line = i == LINES - 1 ? "" : randomLine(random);
+            lines.add(line);
+            text.append(line).append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        Files.write(in, text.toString().getBytes(StandardCharsets.UTF_8));
+        Collections.sort(lines);
+        StringBuilder expected = new StringBuilder();
+        for (String line : lines) {
+            expected.append(line).append('\n');
+        }
+        byte[] expectedBytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+
+        long[] lineBudgets = {1L << 24, 1L << 20, 1L << 18};
+        for (long memory : lineBudgets) {
+            Stopwatch stopwatch = new Stopwatch();
+            ExternalSort.sortLines(in, out, memory);
+            double time = stopwatch.elapsedTime();
+            System.out.printf("lines, memory %10d takes: %.3f, same as Collections.sort: %b \n", memory, time,
+                    Arrays.equals(Files.readAllBytes(out), expectedBytes));
+        }
+        Files.delete(in);
+        Files.delete(out);
+        Files.delete(dir);
+    }
+
+    private static String randomLine(Random random) {
+        if (random.nextInt(20) == 0) {
+            return "";
+        }
+        // a small alphabet, so that lines share prefixes and repeat
+        final String ALPHABET = "abc\u00e9 9";
+        int length = random.nextInt(12);
+        StringBuilder line = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            line.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return line.toString();
+    }
+
+    /**
+     * @return whether the keys are in order, the payloads of equal keys are
+     * increasing, and each payload in [0, n) appears exactly once
+     */
+    private static boolean isStablySorted(Path path, int n) throws IOException {
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (sorted.remaining() != n * RECORD) {
+            return false;
+        }
+        boolean[] seen = new boolean[n];
+        long previousKey = Long.MIN_VALUE;
+        long previousIndex = -1;
+        while (sorted.hasRemaining()) {
+            long key = sorted.getLong();
+            long index = sorted.getLong();
+            if (key < previousKey || key == previousKey && index <= previousIndex) {
+                return false;
+            }
+            if (index < 0 || index >= n || seen[(int) index]) {
+                return false;
+            }
+            seen[(int) index] = true;
+            previousKey = key;
+            previousIndex = index;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package tests.sortShuffle;
+
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Stopwatch;
+import princeton.algo.queue.Deque;
+import princeton.algo.queue.LinkedQueue;
+import princeton.algo.sort.Shuffle;
+import princeton.algo.stack.LinkedStack;
+
+/**
+ * Compare the shuffles of the linked structures on 10M-element queues: the
+ * recursive merge shuffle they used to run, against the linear shuffles of
+ * {@code LinkedQueue}, {@code Deque}, {@code LinkedStack} and
+ * {@code Shuffle.shuffle(Queue)}. Times are in seconds.
+ */
+class LinkedShuffleTest {
+
+    public static void main(String[] args) {
+        final int N = 10_000_000;
+        final int REPEAT = 3;
+        for (int r = 0; r < REPEAT; r++) {
+            LinkedQueue<Integer> queue = queue(N);
+            Stopwatch stopwatch = new Stopwatch();
+            mergeShuffle(queue, new Random());
+            System.out.printf("merge shuffle        takes: %.3f \n", stopwatch.elapsedTime());
+
+            queue = queue(N);
+            stopwatch = new Stopwatch();
+            queue.shuffle();
+            System.out.printf("LinkedQueue.shuffle  takes: %.3f \n", stopwatch.elapsedTime());
+
+            queue = queue(N);
+            stopwatch = new Stopwatch();
+            Shuffle.shuffle(queue);
+            System.out.printf("Shuffle.shuffle      takes: %.3f \n", stopwatch.elapsedTime());
+            queue = null;
+
+            Deque<Integer> deque = new Deque<>();
+            for (int i = 0; i < N; i++) {
+                deque.enqueue(i);
+            }
+            stopwatch = new Stopwatch();
+            deque.shuffle();
+            System.out.printf("Deque.shuffle        takes: %.3f \n", stopwatch.elapsedTime());
+            deque = null;
+
+            LinkedStack<Integer> stack = new LinkedStack<>();
+            for (int i = 0; i < N; i++) {
+                stack.push(i);
+            }
+            stopwatch = new Stopwatch();
+            stack.shuffle();
+            System.out.printf("LinkedStack.shuffle  takes: %.3f \n", stopwatch.elapsedTime());
+            System.out.println();
+        }
+    }
+
+    private static LinkedQueue<Integer> queue(int n) {
+        LinkedQueue<Integer> queue = new LinkedQueue<>();
+        for (int i = 0; i < n; i++) {
+            queue.enqueue(i);
+        }
+        return queue;
+    }
+
+    /**
+     * the recursive N log N merge shuffle, for reference
+     */
+    private static LinkedQueue<Integer> mergeShuffle(LinkedQueue<Integer> d, Random random) {
+        int size = d.size();
+        if (size <= 1) {
+            return d;
+        }
+        LinkedQueue<Integer> d1 = new LinkedQueue<>();
+        LinkedQueue<Integer> d2 = new LinkedQueue<>();
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                d1.enqueue(d.dequeue());
+            } else {
+                d2.enqueue(d.dequeue());
+            }
+        }
+        d1 = mergeShuffle(d1, random);
+        d2 = mergeShuffle(d2, random);
+        LinkedQueue<Integer> merged = new LinkedQueue<>();
+        while (d1.size() > 0 || d2.size() > 0) {
+            if (random.nextInt(d1.size() + d2.size()) < d1.size()) {
+                merged.enqueue(d1.dequeue());
+            } else {
+                merged.enqueue(d2.dequeue());
+            }
+        }
+        return merged;
+    }
+}
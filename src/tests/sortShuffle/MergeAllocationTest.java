@@ -0,0 +1,74 @@
+package tests.sortShuffle;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import princeton.algo.sort.Merge;
+import princeton.algo.sort.MergeBU;
+
+/**
+ * Compare the bytes allocated by merge sorting many small batches with and
+ * without a reusable auxiliary array.
+ * <p>
+ *     The allocation is measured by {@code com.sun.management.ThreadMXBean},
+ *     so the test must run on a HotSpot-based JVM.
+ * </p>
+ */
+class MergeAllocationTest {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static void main(String[] args) {
+        final int BATCH = 1000;
+        final int ROUNDS = 20_000;
+        Random random = new Random();
+        int[][] batches = new int[16][BATCH];
+        for (int[] batch : batches) {
+            for (int i = 0; i < BATCH; i++) {
+                batch[i] = random.nextInt();
+            }
+        }
+        int[] a = new int[BATCH];
+        int[] aux = new int[BATCH];
+
+        // warm up
+        for (int r = 0; r < ROUNDS; r++) {
+            System.arraycopy(batches[r & 15], 0, a, 0, BATCH);
+            Merge.sort(a);
+            System.arraycopy(batches[r & 15], 0, a, 0, BATCH);
+            Merge.sort(a, aux);
+        }
+
+        String[] names = {"merge", "merge with aux", "mergeBU", "mergeBU with aux"};
+        for (int k = 0; k < names.length; k++) {
+            long before = allocatedBytes();
+            long start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                System.arraycopy(batches[r & 15], 0, a, 0, BATCH);
+                switch (k) {
+                    case 0:
+                        Merge.sort(a);
+                        break;
+                    case 1:
+                        Merge.sort(a, aux);
+                        break;
+                    case 2:
+                        MergeBU.sort(a);
+                        break;
+                    default:
+                        MergeBU.sort(a, aux);
+                        break;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long bytes = allocatedBytes() - before;
+            System.out.printf("%20s: %8.1f bytes/sort, %10.1f MB/s allocated, elapsed time = %.5f\n",
+                    names[k], (double) bytes / ROUNDS, bytes / seconds / (1 << 20), seconds);
+        }
+    }
+}
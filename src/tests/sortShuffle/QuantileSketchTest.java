@@ -0,0 +1,144 @@
+package tests.sortShuffle;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import princeton.algo.sort.QuantileSketch;
+import princeton.algo.sort.Quick;
+import princeton.algo.sort.RandomSource;
+
+/**
+ * Compare the quantiles of {@code QuantileSketch} with the exact ones found
+ * by {@code Quick.select}. The error is printed as the distance between the
+ * exact rank and the true rank of the estimated value, over the count.
+ * <p>
+ *     The long sketch is built from four parts on separate threads and then
+ *     merged, as latency telemetry would be.
+ * </p>
+ * <p>
+ *     Finally, a sketch merged with itself must count every value twice, and
+ *     two sketches seeded alike must give the same quantiles.
+ * </p>
+ */
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0};
+
+    public static void main(String[] args) throws InterruptedException {
+        final int N = 2_000_000;
+        Random random = new Random();
+
+        double[] doubles = new double[N];
+        QuantileSketch.OfDouble doubleSketch = new QuantileSketch.OfDouble();
+        for (int i = 0; i < N; i++) {
+            doubles[i] = random.nextGaussian();
+            doubleSketch.add(doubles[i]);
+        }
+        double[] estimates = doubleSketch.quantiles(QUANTILES);
+        System.out.println("gaussian doubles");
+        for (int j = 0; j < QUANTILES.length; j++) {
+            int rank = (int) (QUANTILES[j] * (N - 1));
+            double exact = Quick.select(doubles, rank);
+            System.out.printf("%8.3f: exact %10.6f sketch %10.6f rank error %.5f%n",
+                    QUANTILES[j], exact, estimates[j], rankError(doubles, estimates[j], rank));
+        }
+
+        // heavy-tailed latencies, sketched in parallel and merged
+        long[] latencies = new long[N];
+        for (int i = 0; i < N; i++) {
+            latencies[i] = (long) (1000 * Math.exp(2 * random.nextGaussian()));
+        }
+        final int PARTS = 4;
+        QuantileSketch.OfLong[] parts = new QuantileSketch.OfLong[PARTS];
+        Thread[] threads = new Thread[PARTS];
+        for (int p = 0; p < PARTS; p++) {
+            final int part = p;
+            parts[p] = new QuantileSketch.OfLong();
+            threads[p] = new Thread(() -> {
+                for (int i = part; i < N; i += PARTS) {
+                    parts[part].add(latencies[i]);
+                }
+            });
+            threads[p].start();
+        }
+        QuantileSketch.OfLong merged = new QuantileSketch.OfLong();
+        for (int p = 0; p < PARTS; p++) {
+            threads[p].join();
+            merged.merge(parts[p]);
+        }
+        long[] longEstimates = merged.quantiles(QUANTILES);
+        System.out.println("merged long latencies, count " + merged.count());
+        for (int j = 0; j < QUANTILES.length; j++) {
+            int rank = (int) (QUANTILES[j] * (N - 1));
+            long exact = Quick.select(latencies, rank);
+            System.out.printf("%8.3f: exact %10d sketch %10d rank error %.5f%n",
+                    QUANTILES[j], exact, longEstimates[j], rankError(latencies, longEstimates[j], rank));
+        }
+
+        // merging a sketch with itself doubles every value
+        QuantileSketch.OfDouble doubled = new QuantileSketch.OfDouble(200, RandomSource.of(42));
+        QuantileSketch.OfDouble twice = new QuantileSketch.OfDouble(200, RandomSource.of(42));
+        QuantileSketch.OfLong doubledLongs = new QuantileSketch.OfLong();
+        for (int i = 0; i < N; i++) {
+            doubled.add(doubles[i]);
+            twice.add(doubles[i]);
+            doubledLongs.add(latencies[i]);
+        }
+        doubled.merge(doubled);
+        doubledLongs.merge(doubledLongs);
+        if (doubled.count() != 2L * N || doubledLongs.count() != 2L * N) {
+            throw new AssertionError("self merge must double the count");
+        }
+        estimates = doubled.quantiles(QUANTILES);
+        longEstimates = doubledLongs.quantiles(QUANTILES);
+        System.out.println("self merged, count " + doubled.count());
+        for (int j = 0; j < QUANTILES.length; j++) {
+            int rank = (int) (QUANTILES[j] * (N - 1));
+            System.out.printf("%8.3f: double rank error %.5f, long rank error %.5f%n", QUANTILES[j],
+                    rankError(doubles, estimates[j], rank), rankError(latencies, longEstimates[j], rank));
+        }
+
+        // the same seed reproduces the same compactions
+        twice.merge(twice);
+        if (!Arrays.equals(twice.quantiles(QUANTILES), doubled.quantiles(QUANTILES))) {
+            throw new AssertionError("seeded sketches differ");
+        }
+        System.out.println("seeded sketches agree");
+    }
+
+    /**
+     * @return how far rank is from the ranks taken by value, over the length
+     */
+    private static double rankError(double[] a, double value, int rank) {
+        int less = 0;
+        int equal = 0;
+        for (double x : a) {
+            if (x < value) {
+                less++;
+            } else if (x == value) {
+                equal++;
+            }
+        }
+        return distance(rank, less, less + equal) / a.length;
+    }
+
+    private static double rankError(long[] a, long value, int rank) {
+        int less = 0;
+        int equal = 0;
+        for (long x : a) {
+            if (x < value) {
+                less++;
+            } else if (x == value) {
+                equal++;
+            }
+        }
+        return distance(rank, less, less + equal) / a.length;
+    }
+
+    private static double distance(int rank, int lo, int hi) {
+        if (rank < lo) {
+            return lo - rank;
+        }
+        return rank >= hi ? rank - hi + 1 : 0;
+    }
+}
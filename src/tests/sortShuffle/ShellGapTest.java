@@ -0,0 +1,57 @@
+package tests.sortShuffle;
+
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Stopwatch;
+import princeton.algo.sort.Shell;
+
+/**
+ * Compare the runtime of Shell sort with each gap sequence across input
+ * sizes, on random {@code int} arrays. Each cell is the mean of several runs
+ * in seconds.
+ */
+class ShellGapTest implements RuntimeTest {
+
+    private final int testLength;
+    private final Shell.Gaps gaps;
+
+    ShellGapTest(int testLength, Shell.Gaps gaps) {
+        this.testLength = testLength;
+        this.gaps = gaps;
+    }
+
+    @Override
+    public double run() {
+        Random random = new Random();
+        int[] a = new int[testLength];
+        for (int i = 0; i < testLength; i++) {
+            a[i] = random.nextInt();
+        }
+        Stopwatch stopwatch = new Stopwatch();
+        Shell.sort(a, gaps);
+        return stopwatch.elapsedTime();
+    }
+
+    public static void main(String[] args) {
+        int[] lengths = {1000, 10000, 100000, 1000000, 4000000};
+        final int REPEAT = 5;
+        System.out.printf("%10s", "length");
+        for (Shell.Gaps gaps : Shell.Gaps.values()) {
+            System.out.printf("%12s", gaps);
+        }
+        System.out.println();
+        for (int l : lengths) {
+            System.out.printf("%10d", l);
+            for (Shell.Gaps gaps : Shell.Gaps.values()) {
+                // warm up
+                new ShellGapTest(l, gaps).run();
+                double mean = 0.0;
+                for (int j = 0; j < REPEAT; j++) {
+                    mean += new ShellGapTest(l, gaps).run() / REPEAT;
+                }
+                System.out.printf("%12.5f", mean);
+            }
+            System.out.println();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import princeton.algo.stack.LinkedStack;
 import princeton.algo.queue.RandomizedQueue;
 import princeton.algo.queue.ArrayQueue;
 import princeton.algo.queue.Deque;
+import princeton.algo.sort.RandomSource;
 import princeton.algo.sort.Shuffle;
 
 /**
@@ -30,6 +31,7 @@ class ShuffleChiSquaredTest {
         test("shuffleStack", RANGE, ROUND);
         test("shuffleArrayStack", RANGE, ROUND);
         test("shuffleArrayQueue", RANGE, ROUND);
+        test("parallelShuffle", RANGE, ROUND);
         Random random = new Random();
         for (int i = 0; i < 10; i++) {
             int randomRange = 5000 + random.nextInt(5000);
@@ -42,6 +44,7 @@ class ShuffleChiSquaredTest {
             test("shuffleStack", randomRange, 200, false);
             test("shuffleArrayStack", randomRange, 200, false);
             test("shuffleArrayQueue", randomRange, 200, false);
+            test("parallelShuffle", randomRange, 200, false);
         }
         test("randomizedQueue", LARGE_RANGE, ROUND, false);
         test("deque", LARGE_RANGE, ROUND, false);
@@ -51,6 +54,7 @@ class ShuffleChiSquaredTest {
         test("shuffleStack", LARGE_RANGE, ROUND, false);
         test("shuffleArrayStack", LARGE_RANGE, ROUND, false);
         test("shuffleArrayQueue", LARGE_RANGE, ROUND, false);
+        test("parallelShuffle", LARGE_RANGE, ROUND, false);
     }
 
     /**
@@ -60,7 +64,7 @@ class ShuffleChiSquaredTest {
      *
      * @param algorithm name of the algorithms to be tested, include randomizedQueue,
      *                  deque, linkedQueue, linkedStack, shuffleQueue, shuffleStack,
-     *                  shuffleArrayStack, shuffleArrayQueue
+     *                  shuffleArrayStack, shuffleArrayQueue, parallelShuffle
      * @param range     generate integers from {@code 0} to {@code range - 1}
      * @param round     the number of rounds to run for statistics
      */
@@ -80,7 +84,7 @@ class ShuffleChiSquaredTest {
      *
      * @param algorithm name of the algorithms to be tested, include randomizedQueue,
      *                  deque, linkedQueue, linkedStack, shuffleQueue, shuffleStack,
-     *                  shuffleArrayStack, shuffleArrayQueue
+     *                  shuffleArrayStack, shuffleArrayQueue, parallelShuffle
      * @param range     generate integers from {@code 0} to {@code range - 1}
      * @param round     the number of rounds to run for statistics
      * @param ifPrint   whether to print the detailed distribution table, if {@code range}
@@ -207,6 +211,19 @@ class ShuffleChiSquaredTest {
                     }
                 }
                 break;
+            case "parallelShuffle":
+                for (int r = 0; r < round; r++) {
+                    int[] a = new int[range];
+                    for (int i = 0; i < range; i++) {
+                        a[i] = i;
+                    }
+                    // a small cutoff runs the merges down to blocks of 2
+                    Shuffle.parallelShuffle(a, RandomSource.current(), 2);
+                    for (int pos = 0; pos < range; pos++) {
+                        uniformChecker[pos][a[pos]]++;
+                    }
+                }
+                break;
             default:
                 break;
         }
@@ -0,0 +1,56 @@
+package tests.sortShuffle;
+
+import java.util.Random;
+
+import princeton.algo.sort.Insertion;
+import princeton.algo.sort.SmallSort;
+
+/**
+ * Compare the cost of the leaves of the recursive sorts: many short random
+ * {@code int} arrays sorted by insertion sort and by {@code SmallSort}, in
+ * nanoseconds per element. Up to 16 elements {@code SmallSort} runs a single
+ * network, beyond that it merges network-sorted blocks of 16.
+ */
+class SmallSortTest {
+
+    public static void main(String[] args) {
+        final int ELEMENTS = 1 << 22;
+        final int REPEAT = 10;
+        Random random = new Random();
+        int[] lengths = {2, 4, 6, 8, 10, 12, 16, 24, 32, 64, 128};
+        for (int n : lengths) {
+            int count = ELEMENTS / n;
+            int[][] source = new int[count][n];
+            for (int[] a : source) {
+                for (int i = 0; i < n; i++) {
+                    a[i] = random.nextInt();
+                }
+            }
+            double insertion = Double.MAX_VALUE;
+            double network = Double.MAX_VALUE;
+            for (int r = 0; r < REPEAT; r++) {
+                int[][] arrays = copy(source);
+                long start = System.nanoTime();
+                for (int[] a : arrays) {
+                    Insertion.sort(a);
+                }
+                insertion = Math.min(insertion, (double) (System.nanoTime() - start) / ELEMENTS);
+                arrays = copy(source);
+                start = System.nanoTime();
+                for (int[] a : arrays) {
+                    SmallSort.sort(a);
+                }
+                network = Math.min(network, (double) (System.nanoTime() - start) / ELEMENTS);
+            }
+            System.out.printf("%4d: insertion %6.2f ns, small sort %6.2f ns \n", n, insertion, network);
+        }
+    }
+
+    private static int[][] copy(int[][] source) {
+        int[][] copy = new int[source.length][];
+        for (int i = 0; i < source.length; i++) {
+            copy[i] = source[i].clone();
+        }
+        return copy;
+    }
+}
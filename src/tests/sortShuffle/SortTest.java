@@ -7,6 +7,7 @@ import princeton.algo.sort.hybrid.*;
 import princeton.algo.binaryHeap.Heap;
 import princeton.algo.stack.LinkedStack;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
 import java.util.Stack;
 import org.apache.commons.math3.distribution.TDistribution;
@@ -43,6 +44,14 @@ class SortTest {
         for (int i = 0; i < BIG_LENGTH; i++) {
             test1_2[i] = random.nextDouble() - i * 0.2;
         }
+        double[] sorted = new double[BIG_LENGTH];
+        double[] fewUnique = new double[BIG_LENGTH];
+        double[] organPipe = new double[BIG_LENGTH];
+        for (int i = 0; i < BIG_LENGTH; i++) {
+            sorted[i] = i * 0.2;
+            fewUnique[i] = random.nextInt(8);
+            organPipe[i] = i < BIG_LENGTH / 2 ? i : BIG_LENGTH - i;
+        }
         for (int i = 0; i < LENGTH; i++) {
             test2[i] = random.nextDouble() + i * 0.2;
         }
@@ -76,15 +85,20 @@ class SortTest {
         randomDoubleTest("shell", LENGTH, 100);
         randomDoubleTest("reference_shell", LENGTH, 100);
         randomDoubleTest("merge", LENGTH, 100);
+        randomDoubleTest("parallelMerge", LENGTH, 100);
         randomDoubleTest("reference_merge", LENGTH, 100);
         randomDoubleTest("mergeBU", LENGTH, 100);
+        randomDoubleTest("mergeBUNatural", LENGTH, 100);
         randomDoubleTest("reference_mergeBU", LENGTH, 100);
         randomDoubleTest("timSort", LENGTH, 100);
         randomDoubleTest("wikiSortWithBuffer", LENGTH, 100);
+        randomDoubleTest("parallelWikiSort", LENGTH, 100);
         randomDoubleTest("grailSortWithoutBuffer", LENGTH, 100);
         randomDoubleTest("grailSortWithBuffer", LENGTH, 100);
         randomDoubleTest("grailSortWithDynBuffer", LENGTH, 100);
+        randomDoubleTest("parallelGrailSortWithDynBuffer", LENGTH, 100);
         randomDoubleTest("quickSort", LENGTH, 100);
+        randomDoubleTest("introSort", LENGTH, 100);
         randomDoubleTest("princetonQuickSort", LENGTH, 100);
         randomDoubleTest("princetonTPQuickSort", LENGTH, 100);
         randomDoubleTest("heapSort", LENGTH, 100);
@@ -93,8 +107,15 @@ class SortTest {
         test("shell", test1_1, 100);
         test("merge", test1_1, 100);
         test("mergeBU", test1_1, 100);
+        test("mergeBUNatural", test1_1, 100);
         test("heapSort", test1_1, 100);
         test("quickSort", test1_1, 100);
+        test("introSort", test1_1, 100);
+        test("parallelQuickSort", test1_1, 100);
+        test("radix", test1_1, 100);
+        test("radixMSD", test1_1, 100);
+        test("grailSortWithBuffer", test1_1, 100);
+        test("wikiSortWithBuffer", test1_1, 100);
         test("reference_quickSort", test1_1, 100);
         System.out.println("The reference Quick Sort is very fast as it requires no shuffling!");
 
@@ -102,11 +123,29 @@ class SortTest {
         test("shell", test1_2, 100);
         test("merge", test1_2, 100);
         test("mergeBU", test1_2, 100);
+        test("mergeBUNatural", test1_2, 100);
         test("heapSort", test1_2, 100);
         test("quickSort", test1_2, 100);
+        test("introSort", test1_2, 100);
+        test("parallelQuickSort", test1_2, 100);
+        test("radix", test1_2, 100);
+        test("radixMSD", test1_2, 100);
+        test("grailSortWithBuffer", test1_2, 100);
+        test("wikiSortWithBuffer", test1_2, 100);
         test("reference_quickSort", test1_2, 100);
         System.out.println("The reference Quick Sort is very fast as it requires no shuffling!");
 
+        System.out.println("\nTest1.3 (quick sort partitioning, primitive BIG_LENGTH):");
+        String[] distributions = {"random", "sorted", "few unique", "organ pipe"};
+        double[][] partitionTests = {test1_1, sorted, fewUnique, organPipe};
+        for (int i = 0; i < distributions.length; i++) {
+            System.out.println(distributions[i] + ":");
+            test("quickSort", partitionTests[i], 100);
+            test("dualPivotQuickSort", partitionTests[i], 100);
+            test("introSort", partitionTests[i], 100);
+            test("reference_quickSort", partitionTests[i], 100);
+        }
+
         // test2: Insertion sort (partially sorted)
         System.out.println("\nTest2 (partially sorted):");
         test("selection", test2, 100);
@@ -116,15 +155,20 @@ class SortTest {
         test("shell", test2, 100);
         test("reference_shell", test2, 100);
         test("merge", test2, 100);
+        test("parallelMerge", test2, 100);
         test("reference_merge", test2, 100);
         test("mergeBU", test2, 100);
+        test("mergeBUNatural", test2, 100);
         test("reference_mergeBU", test2, 100);
         test("timSort", test2, 100);
         test("wikiSortWithBuffer", test2, 100);
+        test("parallelWikiSort", test2, 100);
         test("grailSortWithoutBuffer", test2, 100);
         test("grailSortWithBuffer", test2, 100);
         test("grailSortWithDynBuffer", test2, 100);
+        test("parallelGrailSortWithDynBuffer", test2, 100);
         test("quickSort", test2, 100);
+        test("introSort", test2, 100);
         test("princetonQuickSort", test2, 100);
         test("princetonTPQuickSort", test2, 100);
         test("heapSort", test2, 100);
@@ -138,15 +182,20 @@ class SortTest {
         test("shell", test3, 100);
         test("reference_shell", test3, 100);
         test("merge", test3, 100);
+        test("parallelMerge", test3, 100);
         test("reference_merge", test3, 100);
         test("mergeBU", test3, 100);
+        test("mergeBUNatural", test3, 100);
         test("reference_mergeBU", test3, 100);
         test("timSort", test3, 100);
         test("wikiSortWithBuffer", test3, 100);
+        test("parallelWikiSort", test3, 100);
         test("grailSortWithoutBuffer", test3, 100);
         test("grailSortWithBuffer", test3, 100);
         test("grailSortWithDynBuffer", test3, 100);
+        test("parallelGrailSortWithDynBuffer", test3, 100);
         test("quickSort", test3, 100);
+        test("introSort", test3, 100);
         test("princetonQuickSort", test3, 100);
         test("princetonTPQuickSort", test3, 100);
         test("heapSort", test3, 100);
@@ -160,15 +209,20 @@ class SortTest {
         test("shell", equalKeys, 100);
         test("reference_shell", equalKeys, 100);
         test("merge", equalKeys, 100);
+        test("parallelMerge", equalKeys, 100);
         test("reference_merge", equalKeys, 100);
         test("mergeBU", equalKeys, 100);
+        test("mergeBUNatural", equalKeys, 100);
         test("reference_mergeBU", equalKeys, 100);
         test("timSort", equalKeys, 100);
         test("wikiSortWithBuffer", equalKeys, 100);
+        test("parallelWikiSort", equalKeys, 100);
         test("grailSortWithoutBuffer", equalKeys, 100);
         test("grailSortWithBuffer", equalKeys, 100);
         test("grailSortWithDynBuffer", equalKeys, 100);
+        test("parallelGrailSortWithDynBuffer", equalKeys, 100);
         test("quickSort", equalKeys, 100);
+        test("introSort", equalKeys, 100);
         test("princetonQuickSort", equalKeys, 100);
         test("princetonTPQuickSort", equalKeys, 100);
         test("heapSort", test3, 100);
@@ -182,36 +236,50 @@ class SortTest {
         randomStringTest("shell", 20, LENGTH, 100);
         randomStringTest("reference_shell", 20, LENGTH, 100);
         randomStringTest("merge", 20, LENGTH, 100);
+        randomStringTest("parallelMerge", 20, LENGTH, 100);
         randomStringTest("reference_merge", 20, LENGTH, 100);
         randomStringTest("mergeBU", 20, LENGTH, 100);
+        randomStringTest("mergeBUNatural", 20, LENGTH, 100);
         randomStringTest("reference_mergeBU", 20, LENGTH, 100);
         randomStringTest("timSort", 20, LENGTH, 100);
         randomStringTest("wikiSortWithBuffer", 20, LENGTH, 100);
+        randomStringTest("parallelWikiSort", 20, LENGTH, 100);
         randomStringTest("grailSortWithoutBuffer", 20, LENGTH, 100);
         randomStringTest("grailSortWithBuffer", 20, LENGTH, 100);
         randomStringTest("grailSortWithDynBuffer", 20, LENGTH, 100);
+        randomStringTest("parallelGrailSortWithDynBuffer", 20, LENGTH, 100);
         randomStringTest("quickSort", 20, LENGTH, 100);
+        randomStringTest("introSort", 20, LENGTH, 100);
         randomStringTest("princetonQuickSort", 20, LENGTH, 100);
         randomStringTest("princetonTPQuickSort", 20, LENGTH, 100);
         randomStringTest("heapSort", 20, LENGTH, 100);
+        randomStringTest("stringMSD", 20, LENGTH, 100);
+        randomStringTest("string3way", 20, LENGTH, 100);
 
         // test5: Sort lots of Strings
         System.out.println("\nTest6 (sort lots of Strings):");
         randomStringTest("shell", 20, BIG_LENGTH, 100);
         randomStringTest("reference_shell", 20, BIG_LENGTH, 100);
         randomStringTest("merge", 20, BIG_LENGTH, 100);
+        randomStringTest("parallelMerge", 20, BIG_LENGTH, 100);
         randomStringTest("reference_merge", 20, BIG_LENGTH, 100);
         randomStringTest("mergeBU", 20, BIG_LENGTH, 100);
+        randomStringTest("mergeBUNatural", 20, BIG_LENGTH, 100);
         randomStringTest("reference_mergeBU", 20, BIG_LENGTH, 100);
         randomStringTest("timSort", 20, BIG_LENGTH, 100);
         randomStringTest("wikiSortWithBuffer", 20, BIG_LENGTH, 100);
+        randomStringTest("parallelWikiSort", 20, BIG_LENGTH, 100);
         randomStringTest("grailSortWithoutBuffer", 20, BIG_LENGTH, 100);
         randomStringTest("grailSortWithBuffer", 20, BIG_LENGTH, 100);
         randomStringTest("grailSortWithDynBuffer", 20, BIG_LENGTH, 100);
+        randomStringTest("parallelGrailSortWithDynBuffer", 20, BIG_LENGTH, 100);
         randomStringTest("quickSort", 20, BIG_LENGTH, 100);
+        randomStringTest("introSort", 20, BIG_LENGTH, 100);
         randomStringTest("princetonQuickSort", 20, BIG_LENGTH, 100);
         randomStringTest("princetonTPQuickSort", 20, BIG_LENGTH, 100);
         randomStringTest("heapSort", 20, BIG_LENGTH, 100);
+        randomStringTest("stringMSD", 20, BIG_LENGTH, 100);
+        randomStringTest("string3way", 20, BIG_LENGTH, 100);
 
         // merge sort Queue / Stack
         System.out.println("\nTest (merge sort Queue):");
@@ -228,15 +296,20 @@ class SortTest {
         testStable("shell");
         testStable("reference_shell");
         testStable("merge");
+        testStable("parallelMerge");
         testStable("reference_merge");
         testStable("mergeBU");
+        testStable("mergeBUNatural");
         testStable("reference_mergeBU");
         testStable("timSort");
         testStable("wikiSortWithBuffer");
+        testStable("parallelWikiSort");
         testStable("grailSortWithoutBuffer");
         testStable("grailSortWithBuffer");
         testStable("grailSortWithDynBuffer");
+        testStable("parallelGrailSortWithDynBuffer");
         testStable("quickSort");
+        testStable("introSort");
         testStable("princetonQuickSort");
         testStable("princetonTPQuickSort");
         testStable("heapSort");
@@ -283,9 +356,33 @@ class SortTest {
             case "mergeBU":
                 MergeBU.sort(testCopy);
                 break;
+            case "mergeBUNatural":
+                MergeBU.sortNatural(testCopy);
+                break;
             case "quickSort":
                 Quick.sort(testCopy);
                 break;
+            case "parallelQuickSort":
+                Quick.parallelSort(testCopy);
+                break;
+            case "introSort":
+                Quick.introSort(testCopy);
+                break;
+            case "dualPivotQuickSort":
+                DualPivotQuick.sort(testCopy);
+                break;
+            case "radix":
+                Radix.sort(testCopy);
+                break;
+            case "radixMSD":
+                Radix.sortMSD(testCopy);
+                break;
+            case "grailSortWithBuffer":
+                Grail.sortWithBuffer(testCopy);
+                break;
+            case "wikiSortWithBuffer":
+                Wiki.sort(testCopy);
+                break;
             case "reference_quickSort":
                 Arrays.sort(testCopy);
                 break;
@@ -350,6 +447,18 @@ class SortTest {
             case "mergeBU":
                 MergeBU.sort(testCopy);
                 break;
+            case "mergeBUNatural":
+                MergeBU.sortNatural(testCopy);
+                break;
+            case "parallelMerge":
+                Merge.parallelSort(testCopy);
+                break;
+            case "stringMSD":
+                StringSort.sortMSD((String[]) testCopy);
+                break;
+            case "string3way":
+                StringSort.sort3way((String[]) testCopy);
+                break;
             case "reference_selection":
                 edu.princeton.cs.algs4.Selection.sort(testCopy);
                 break;
@@ -381,9 +490,18 @@ class SortTest {
             case "grailSortWithDynBuffer":
                 Grail.sortWithDynBuffer(testCopy);
                 break;
+            case "parallelGrailSortWithDynBuffer":
+                Grail.parallelSortWithDynBuffer(testCopy);
+                break;
+            case "parallelWikiSort":
+                Wiki.parallelSort(testCopy);
+                break;
             case "quickSort":
                 Quick.sort(testCopy);
                 break;
+            case "introSort":
+                Quick.introSort(testCopy);
+                break;
             case "princetonQuickSort":
                 edu.princeton.cs.algs4.Quick.sort(testCopy);
                 break;
@@ -580,12 +698,19 @@ class SortTest {
 
     private static void testStable(String algorithm) {
         final int LENGTH = 10_000;
+        final int PARALLEL_CUTOFF = 16;
         Random random = new Random();
         StableData[] dat = new StableData[LENGTH];
         for (int i = 0; i < LENGTH; i++) {
             dat[i] = new StableData(random.nextInt(LENGTH / 100), i);
         }
-        test(algorithm, dat, false, false);
+        if (algorithm.equals("parallelMerge")) {
+            // the default cutoff splits 10,000 items only once: a small one
+            // runs many levels of co-ranked merges over the ties
+            Merge.parallelSort(dat, Comparator.naturalOrder(), PARALLEL_CUTOFF);
+        } else {
+            test(algorithm, dat, false, false);
+        }
         System.out.printf("%25s sort stable?: %b\n", algorithm, isStable(dat));
     }
 }
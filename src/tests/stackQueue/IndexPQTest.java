@@ -0,0 +1,114 @@
+package tests.stackQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Stopwatch;
+import princeton.algo.binaryHeap.IndexMinPQ;
+import princeton.algo.binaryHeap.PriorityQueue;
+
+/**
+ * Compare {@code IndexMinPQ.OfDouble} with a {@code PriorityQueue} of boxed
+ * entries on Dijkstra's shortest paths over a random graph. The boxed queue
+ * inserts a new entry for each relaxed edge and skips the stale ones, while
+ * the indexed queue keeps at most one entry per vertex and decreases its key.
+ */
+class IndexPQTest {
+
+    private static final class Entry {
+        final int v;
+        final double dist;
+
+        Entry(int v, double dist) {
+            this.v = v;
+            this.dist = dist;
+        }
+    }
+
+    public static void main(String[] args) {
+        final int V = 1_000_000;
+        final int DEGREE = 8;
+        final int REPEAT = 3;
+        for (int r = 0; r < REPEAT; r++) {
+            Random random = new Random(r);
+            int[][] adj = new int[V][DEGREE];
+            double[][] weight = new double[V][DEGREE];
+            for (int v = 0; v < V; v++) {
+                for (int e = 0; e < DEGREE; e++) {
+                    adj[v][e] = random.nextInt(V);
+                    weight[v][e] = random.nextDouble();
+                }
+            }
+
+            Stopwatch stopwatch = new Stopwatch();
+            double[] lazy = lazy(adj, weight);
+            double lazyTime = stopwatch.elapsedTime();
+
+            stopwatch = new Stopwatch();
+            double[] indexed = indexed(adj, weight);
+            double indexedTime = stopwatch.elapsedTime();
+
+            for (int v = 0; v < V; v++) {
+                if (lazy[v] != indexed[v]) {
+                    throw new AssertionError("distances differ at " + v);
+                }
+            }
+            System.out.printf("V %d, E %d: PriorityQueue %.3f, IndexMinPQ.OfDouble %.3f\n",
+                    V, V * DEGREE, lazyTime, indexedTime);
+        }
+    }
+
+    private static double[] lazy(int[][] adj, double[][] weight) {
+        double[] dist = distances(adj.length);
+        // PriorityQueue is a max-heap: reverse the order of distance
+        PriorityQueue<Entry> pq = new PriorityQueue<>(
+                Comparator.comparingDouble((Entry e) -> e.dist).reversed());
+        pq.add(new Entry(0, 0.0));
+        while (!pq.isEmpty()) {
+            Entry entry = pq.remove();
+            int v = entry.v;
+            if (entry.dist > dist[v]) {
+                continue;
+            }
+            for (int e = 0; e < adj[v].length; e++) {
+                int w = adj[v][e];
+                double d = dist[v] + weight[v][e];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    pq.add(new Entry(w, d));
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static double[] indexed(int[][] adj, double[][] weight) {
+        double[] dist = distances(adj.length);
+        IndexMinPQ.OfDouble pq = new IndexMinPQ.OfDouble(adj.length);
+        pq.insert(0, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.delMin();
+            for (int e = 0; e < adj[v].length; e++) {
+                int w = adj[v][e];
+                double d = dist[v] + weight[v][e];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    if (pq.contains(w)) {
+                        pq.decreaseKey(w, d);
+                    } else {
+                        pq.insert(w, d);
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static double[] distances(int n) {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[0] = 0.0;
+        return dist;
+    }
+}
@@ -0,0 +1,64 @@
+package tests.stackQueue;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Stopwatch;
+import princeton.algo.binaryHeap.LongIntHeap;
+import princeton.algo.binaryHeap.PriorityQueue;
+
+/**
+ * Compare {@code LongIntHeap} with a {@code PriorityQueue} of boxed events on
+ * a scheduler workload: a fixed number of pending events, each removal of the
+ * earliest event scheduling another one a random delay later.
+ */
+class PrimitiveHeapTest {
+
+    private static final class Event {
+        final long time;
+        final int task;
+
+        Event(long time, int task) {
+            this.time = time;
+            this.task = task;
+        }
+    }
+
+    public static void main(String[] args) {
+        final int OPERATIONS = 10_000_000;
+        final int REPEAT = 3;
+        int[] pendings = {1_000, 100_000, 1_000_000};
+        for (int pending : pendings) {
+            for (int r = 0; r < REPEAT; r++) {
+                Random random = new Random(r);
+                // PriorityQueue is a max-heap: reverse the order of time
+                PriorityQueue<Event> boxed = new PriorityQueue<>(pending,
+                        Comparator.comparingLong((Event e) -> e.time).reversed());
+                for (int i = 0; i < pending; i++) {
+                    boxed.add(new Event(random.nextInt(1000), i));
+                }
+                Stopwatch stopwatch = new Stopwatch();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    Event e = boxed.remove();
+                    boxed.add(new Event(e.time + random.nextInt(1000), e.task));
+                }
+                double boxedTime = stopwatch.elapsedTime();
+
+                random = new Random(r);
+                LongIntHeap primitive = LongIntHeap.minHeap(pending);
+                for (int i = 0; i < pending; i++) {
+                    primitive.add(random.nextInt(1000), i);
+                }
+                stopwatch = new Stopwatch();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    long time = primitive.peekKey();
+                    int task = primitive.remove();
+                    primitive.add(time + random.nextInt(1000), task);
+                }
+                double primitiveTime = stopwatch.elapsedTime();
+                System.out.printf("pending %8d: PriorityQueue %.3f, LongIntHeap %.3f\n",
+                        pending, boxedTime, primitiveTime);
+            }
+        }
+    }
+}